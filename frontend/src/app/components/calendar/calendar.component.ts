@@ -1,10 +1,13 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { MatDialog } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
 import { CalendarOptions, EventClickArg, DateSelectArg } from '@fullcalendar/core';
 import dayGridPlugin from '@fullcalendar/daygrid';
 import timeGridPlugin from '@fullcalendar/timegrid';
 import interactionPlugin from '@fullcalendar/interaction';
+import { Subject, Subscription } from 'rxjs';
+import { debounceTime } from 'rxjs/operators';
+import { AuthService } from '../../services/auth.service';
 import { EventService } from '../../services/event.service';
 import { CalendarEvent } from '../../models/event.model';
 import { EventDialogComponent } from '../event-dialog/event-dialog.component';
@@ -14,7 +17,7 @@ import { EventDialogComponent } from '../event-dialog/event-dialog.component';
   templateUrl: './calendar.component.html',
   styleUrls: ['./calendar.component.scss']
 })
-export class CalendarComponent implements OnInit {
+export class CalendarComponent implements OnInit, OnDestroy {
   calendarOptions: CalendarOptions = {
     initialView: 'dayGridMonth',
     plugins: [dayGridPlugin, timeGridPlugin, interactionPlugin],
@@ -36,24 +39,55 @@ export class CalendarComponent implements OnInit {
 
   events: CalendarEvent[] = [];
   currentEvents: any[] = [];
+  private syncToken?: string;
+  private notifications?: EventSource;
+  private changes = new Subject<void>();
+  private changesSubscription?: Subscription;
 
   constructor(
     private eventService: EventService,
+    private authService: AuthService,
     private dialog: MatDialog,
     private snackBar: MatSnackBar
   ) {}
 
   ngOnInit(): void {
     this.loadEvents();
+
+    // Pull the delta whenever the server reports a change, batching bursts of notifications
+    this.changesSubscription = this.changes.pipe(debounceTime(200)).subscribe(() => this.loadEvents());
+    const token = this.authService.getToken();
+    if (token) {
+      this.notifications = this.eventService.openNotifications(token);
+      this.notifications.addEventListener('change', () => this.changes.next());
+      this.notifications.addEventListener('resync', () => this.changes.next());
+      // The server drops streams it cannot write to in time; catch up once the browser reconnects
+      this.notifications.addEventListener('open', () => this.changes.next());
+    }
+  }
+
+  ngOnDestroy(): void {
+    this.notifications?.close();
+    this.changesSubscription?.unsubscribe();
   }
 
+  // The first call loads every event; later calls only fetch what changed since then, unless
+  // the server answers an expired token with the full calendar
   loadEvents(): void {
-    this.eventService.getAllEvents().subscribe({
-      next: (events) => {
-        this.events = events;
+    this.eventService.getChanges(this.syncToken).subscribe({
+      next: (changes) => {
+        const byId = new Map<number, CalendarEvent>();
+        if (this.syncToken && !changes.fullSync) {
+          this.events.forEach(event => byId.set(event.id!, event));
+        }
+        changes.deletedIds.forEach(id => byId.delete(id));
+        changes.events.forEach(event => byId.set(event.id!, event));
+        this.syncToken = changes.token;
+
+        this.events = Array.from(byId.values());
         this.calendarOptions = {
           ...this.calendarOptions,
-          events: this.transformEventsForCalendar(events)
+          events: this.transformEventsForCalendar(this.events)
         };
       },
       error: (error) => {
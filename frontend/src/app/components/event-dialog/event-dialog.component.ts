@@ -2,7 +2,7 @@ import { Component, Inject, OnInit } from '@angular/core';
 import { FormBuilder, FormGroup, Validators } from '@angular/forms';
 import { MatDialogRef, MAT_DIALOG_DATA } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
-import { Observable, startWith, map } from 'rxjs';
+import { Observable, of, catchError, debounceTime, distinctUntilChanged, map, switchMap } from 'rxjs';
 import { EventService } from '../../services/event.service';
 import { UserService } from '../../services/user.service';
 import { CalendarEvent, EventType, EventStatus, CreateEventRequest } from '../../models/event.model';
@@ -21,7 +21,6 @@ export class EventDialogComponent implements OnInit {
   eventTypes = Object.values(EventType);
   eventStatuses = Object.values(EventStatus);
   
-  allUsers: User[] = [];
   selectedParticipants: User[] = [];
   filteredUsers: Observable<User[]>;
 
@@ -51,15 +50,16 @@ export class EventDialogComponent implements OnInit {
       participantSearch: ['']
     });
 
+    // Matching users are looked up on the server as the user types
     this.filteredUsers = this.eventForm.get('participantSearch')!.valueChanges.pipe(
-      startWith(''),
-      map(value => this._filterUsers(value || ''))
+      map(value => typeof value === 'string' ? value.trim() : ''),
+      debounceTime(250),
+      distinctUntilChanged(),
+      switchMap(query => this._searchUsers(query))
     );
   }
 
   ngOnInit(): void {
-    this.loadUsers();
-    
     if (this.isEdit && this.data.event) {
       this.populateForm(this.data.event);
     } else if (this.data.startDate) {
@@ -76,17 +76,6 @@ export class EventDialogComponent implements OnInit {
     }
   }
 
-  loadUsers(): void {
-    this.userService.getAllUsers().subscribe({
-      next: (users) => {
-        this.allUsers = users;
-      },
-      error: (error) => {
-        console.error('Failed to load users:', error);
-      }
-    });
-  }
-
   populateForm(event: CalendarEvent): void {
     const startDate = new Date(event.startTime);
     const endDate = new Date(event.endTime);
@@ -111,14 +100,16 @@ export class EventDialogComponent implements OnInit {
     }
   }
 
-  private _filterUsers(value: string): User[] {
-    const filterValue = value.toLowerCase();
-    return this.allUsers.filter(user => 
-      !this.selectedParticipants.some(p => p.id === user.id) &&
-      (user.username.toLowerCase().includes(filterValue) ||
-       user.email.toLowerCase().includes(filterValue) ||
-       (user.firstName && user.firstName.toLowerCase().includes(filterValue)) ||
-       (user.lastName && user.lastName.toLowerCase().includes(filterValue)))
+  private _searchUsers(query: string): Observable<User[]> {
+    if (!query) {
+      return of([]);
+    }
+    return this.userService.typeaheadUsers(query).pipe(
+      map(users => users.filter(user => !this.selectedParticipants.some(p => p.id === user.id))),
+      catchError(error => {
+        console.error('Failed to search users:', error);
+        return of([]);
+      })
     );
   }
 
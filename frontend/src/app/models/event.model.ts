@@ -18,6 +18,13 @@ export interface CalendarEvent {
   participants?: User[];
 }
 
+export interface EventChanges {
+  events: CalendarEvent[];
+  deletedIds: number[];
+  token: string;
+  fullSync: boolean;
+}
+
 export enum EventType {
   MEETING = 'MEETING',
   APPOINTMENT = 'APPOINTMENT',
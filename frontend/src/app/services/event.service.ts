@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { CalendarEvent, CreateEventRequest } from '../models/event.model';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
+import { CalendarEvent, CreateEventRequest, EventChanges } from '../models/event.model';
 
 @Injectable({
   providedIn: 'root'
@@ -11,8 +12,37 @@ export class EventService {
 
   constructor(private http: HttpClient) {}
 
+  // The list is paginated; follow the X-Next-Cursor header until the last page
   getAllEvents(): Observable<CalendarEvent[]> {
-    return this.http.get<CalendarEvent[]>(this.API_URL);
+    return this.getEventsPage().pipe(
+      expand(page => page.next ? this.getEventsPage(page.next) : EMPTY),
+      reduce((events, page) => events.concat(page.items), [] as CalendarEvent[])
+    );
+  }
+
+  private getEventsPage(after?: string): Observable<{ items: CalendarEvent[]; next: string | null }> {
+    let params = new HttpParams();
+    if (after) {
+      params = params.set('after', after);
+    }
+    return this.http.get<CalendarEvent[]>(this.API_URL, { params, observe: 'response' }).pipe(
+      map(response => ({ items: response.body ?? [], next: response.headers.get('X-Next-Cursor') }))
+    );
+  }
+
+  // Events changed since the token, or all events when no token is given
+  getChanges(since?: string): Observable<EventChanges> {
+    let params = new HttpParams();
+    if (since) {
+      params = params.set('since', since);
+    }
+    return this.http.get<EventChanges>(`${this.API_URL}/changes`, { params });
+  }
+
+  // Server-sent notifications of changes to the user's events. EventSource cannot send an
+  // Authorization header, so the token goes in the query string.
+  openNotifications(token: string): EventSource {
+    return new EventSource(`${this.API_URL}/notifications?access_token=${encodeURIComponent(token)}`);
   }
 
   getEventsInDateRange(startDate: string, endDate: string): Observable<CalendarEvent[]> {
@@ -15,10 +15,6 @@ export class UserService {
     return this.http.get<User>(`${this.API_URL}/me`);
   }
 
-  getAllUsers(): Observable<User[]> {
-    return this.http.get<User[]>(this.API_URL);
-  }
-
   getUserById(id: number): Observable<User> {
     return this.http.get<User>(`${this.API_URL}/${id}`);
   }
@@ -27,4 +23,9 @@ export class UserService {
     const params = new HttpParams().set('searchTerm', searchTerm);
     return this.http.get<User[]>(`${this.API_URL}/search`, { params });
   }
+
+  typeaheadUsers(query: string, limit = 10): Observable<User[]> {
+    const params = new HttpParams().set('q', query).set('limit', limit);
+    return this.http.get<User[]>(`${this.API_URL}/typeahead`, { params });
+  }
 }
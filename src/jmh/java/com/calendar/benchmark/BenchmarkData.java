@@ -0,0 +1,123 @@
+package com.calendar.benchmark;
+
+import com.calendar.SharedCalendarApplication;
+import com.calendar.dto.EventDto;
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.repository.UserRepository;
+import com.calendar.service.EventService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic users and events shaped like production rows: a title, a location on most
+ * events, a description on some, and a handful of participants.
+ */
+final class BenchmarkData {
+    static final LocalDateTime EPOCH = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // 512-bit key so tokens can be signed with HS512
+    static final String JWT_SECRET =
+            "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LWJlbmNobWFyay1zZWNyZXQtYmVuY2htYXJrLXNlY3JldA==";
+
+    private BenchmarkData() {
+    }
+
+    // Non-web context on an embedded H2; arguments take precedence over application.yml
+    static ConfigurableApplicationContext start(String... overrides) {
+        SpringApplication application = new SpringApplication(SharedCalendarApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.calendar=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--jwt.secret=" + JWT_SECRET));
+        args.addAll(List.of(overrides));
+        return application.run(args.toArray(new String[0]));
+    }
+
+    // Inserts through the batch API so events get participants the same way clients add them
+    static List<User> seed(ConfigurableApplicationContext context, int userCount, int eventCount) {
+        EventService eventService = context.getBean(EventService.class);
+        List<User> users = users(userCount);
+        for (User user : users) {
+            user.setId(null);
+        }
+        users = context.getBean(UserRepository.class).saveAll(users);
+
+        Map<Long, List<EventDto>> byOwner = new HashMap<>();
+        for (Event event : events(users(userCount), eventCount, 42)) {
+            EventDto dto = new EventDto(event);
+            List<Long> participantIds = new ArrayList<>();
+            for (Long id : dto.getParticipantIds()) {
+                participantIds.add(users.get(id.intValue() - 1).getId());
+            }
+            dto.setParticipantIds(participantIds);
+            Long ownerId = users.get(dto.getOwnerId().intValue() - 1).getId();
+            byOwner.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(dto);
+        }
+        for (Map.Entry<Long, List<EventDto>> entry : byOwner.entrySet()) {
+            eventService.createEvents(entry.getValue(), entry.getKey());
+        }
+        return users;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User("user" + i, "user" + i + "@example.com", "password", "First" + i, "Last" + i);
+            user.setId((long) i);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Event> events(List<User> users, int count, long seed) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            events.add(event(users, random, i));
+        }
+        return events;
+    }
+
+    static Event event(List<User> users, Random random, int n) {
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(365)).plusMinutes(30L * random.nextInt(20));
+        Event event = new Event("Event " + n + " planning review", null, start,
+                start.plusMinutes(30L * (1 + random.nextInt(4))), users.get(random.nextInt(users.size())));
+        event.setId((long) n);
+        if (random.nextInt(4) != 0) {
+            event.setLocation("Room " + random.nextInt(40));
+        }
+        if (random.nextInt(3) == 0) {
+            event.setDescription("Agenda: status updates, open issues and next steps for item " + n);
+        }
+        event.setEventType(Event.EventType.MEETING);
+        event.setStatus(Event.EventStatus.SCHEDULED);
+
+        Set<User> participants = new HashSet<>();
+        int participantCount = random.nextInt(6);
+        while (participants.size() < participantCount) {
+            User user = users.get(random.nextInt(users.size()));
+            if (user != event.getOwner()) {
+                participants.add(user);
+            }
+        }
+        event.setParticipants(participants);
+        return event;
+    }
+}
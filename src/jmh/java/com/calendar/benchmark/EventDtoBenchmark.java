@@ -0,0 +1,67 @@
+package com.calendar.benchmark;
+
+import com.calendar.dto.EventDto;
+import com.calendar.model.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of loaded entities to EventDto and JSON serialization of the resulting list, the
+ * two steps every event listing goes through after the query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDtoBenchmark {
+
+    @Param({"10", "1000"})
+    private int events;
+
+    private List<Event> entities;
+    private List<EventDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkData.events(BenchmarkData.users(200), events, 42);
+        dtos = mapEvents();
+        // Same date handling as the application's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public List<EventDto> mapEvents() {
+        List<EventDto> result = new ArrayList<>(entities.size());
+        for (Event event : entities) {
+            result.add(new EventDto(event));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
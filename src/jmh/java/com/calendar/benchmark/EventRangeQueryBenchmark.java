@@ -0,0 +1,88 @@
+package com.calendar.benchmark;
+
+import com.calendar.dto.EventDto;
+import com.calendar.model.User;
+import com.calendar.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventService.getEventsForUserInDateRange against an embedded H2 seeded with USERS users
+ * and EVENTS events. Each invocation asks for a different user and window. In "database" mode
+ * the agenda cache and the Hibernate query cache are off, so every call runs the range query;
+ * in "agenda" mode every window is read once during setup, so calls measure cache hits.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventRangeQueryBenchmark {
+    private static final int USERS = 200;
+    private static final int EVENTS = 20000;
+    private static final int QUERIES = 1024;
+
+    @Param({"database", "agenda"})
+    private String cache;
+
+    @Param({"7", "31"})
+    private int windowDays;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private Long[] userIds;
+    private LocalDateTime[] starts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        boolean cached = "agenda".equals(cache);
+        context = BenchmarkData.start(
+                "--calendar.agenda.enabled=" + cached,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cached);
+
+        eventService = context.getBean(EventService.class);
+        List<User> users = BenchmarkData.seed(context, USERS, EVENTS);
+
+        Random random = new Random(7);
+        userIds = new Long[QUERIES];
+        starts = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            userIds[i] = users.get(random.nextInt(users.size())).getId();
+            starts[i] = BenchmarkData.EPOCH.plusDays(random.nextInt(365 - windowDays));
+        }
+        if (cached) {
+            for (int i = 0; i < QUERIES; i++) {
+                getEventsForUserInDateRange();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventDto> getEventsForUserInDateRange() {
+        int i = next++ & (QUERIES - 1);
+        return eventService.getEventsForUserInDateRange(userIds[i], starts[i], starts[i].plusDays(windowDays));
+    }
+}
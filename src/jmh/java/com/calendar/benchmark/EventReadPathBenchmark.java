@@ -0,0 +1,106 @@
+package com.calendar.benchmark;
+
+import com.calendar.dto.EventDto;
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one user's whole calendar as EventDto two ways over the same seeded H2 data: the
+ * projection path the list endpoints use (findEventDtosByUserInvolvedOrderByStartTime plus
+ * attachParticipants), and loading Event entities with owner and participants fetched by
+ * entity graph, then mapping them with new EventDto(Event). Run with -prof gc to compare
+ * allocation per call. The query and second-level caches are off so both paths hit the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventReadPathBenchmark {
+    private static final int USERS = 200;
+    private static final int EVENTS = 20000;
+    private static final int QUERIES = 1024;
+
+    // Same filter and order as findEventDtosByUserInvolvedOrderByStartTime
+    private static final String ENTITY_QUERY = "SELECT e FROM Event e JOIN e.owner o " +
+            "WHERE o.id = :userId OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u.id = :userId) " +
+            "ORDER BY e.startTime ASC";
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Long[] userIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.start(
+                "--calendar.agenda.enabled=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+
+        eventRepository = context.getBean(EventRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        List<User> users = BenchmarkData.seed(context, USERS, EVENTS);
+
+        Random random = new Random(7);
+        userIds = new Long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            userIds[i] = users.get(random.nextInt(users.size())).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventDto> projection() {
+        Long userId = userIds[next++ & (QUERIES - 1)];
+        return readOnly.execute(status -> eventRepository.attachParticipants(
+                eventRepository.findEventDtosByUserInvolvedOrderByStartTime(userId)));
+    }
+
+    @Benchmark
+    public List<EventDto> entities() {
+        Long userId = userIds[next++ & (QUERIES - 1)];
+        return readOnly.execute(status -> {
+            List<Event> events = entityManager.createQuery(ENTITY_QUERY, Event.class)
+                    .setParameter("userId", userId)
+                    .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS))
+                    .getResultList();
+            List<EventDto> dtos = new ArrayList<>(events.size());
+            for (Event event : events) {
+                dtos.add(new EventDto(event));
+            }
+            return dtos;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.calendar.benchmark;
+
+import com.calendar.security.JwtUtils;
+import com.calendar.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by AuthTokenFilter on every request. With jwt.cache.max-size set to 0 each
+ * call verifies the HS512 signature; otherwise repeated tokens are answered from the cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", BenchmarkData.JWT_SECRET,
+                "jwt.expiration", "86400000",
+                "jwt.cache.max-size", String.valueOf(cacheSize))));
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(JwtUtils.class);
+        context.refresh();
+        jwtUtils = context.getBean(JwtUtils.class);
+
+        UserPrincipal principal = new UserPrincipal(1L, "user1", "user1@example.com", null,
+                "First1", "Last1", Collections.emptyList());
+        token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
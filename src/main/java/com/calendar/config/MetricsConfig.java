@@ -0,0 +1,40 @@
+package com.calendar.config;
+
+import com.calendar.monitoring.StatementCounter;
+import com.calendar.service.AgendaCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Registered as an instance so the inspector is the Spring bean StatementBudgetFilter uses
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    // Same meter names as Micrometer's cache binders, so one dashboard covers every cache;
+    // second-level cache regions are reported by Hibernate's own binder
+    @Bean
+    public MeterBinder agendaCacheMetrics(AgendaCache agendaCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", agendaCache, cache -> cache.getStats().getHits())
+                    .tags("cache", "agenda", "result", "hit")
+                    .description("Agenda reads answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", agendaCache, cache -> cache.getStats().getMisses())
+                    .tags("cache", "agenda", "result", "miss")
+                    .description("Agenda reads that went to the database")
+                    .register(registry);
+            FunctionCounter.builder("cache.puts", agendaCache, cache -> cache.getStats().getPuts())
+                    .tags("cache", "agenda")
+                    .description("Agendas stored in the cache")
+                    .register(registry);
+        };
+    }
+}
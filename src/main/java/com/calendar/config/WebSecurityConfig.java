@@ -1,8 +1,11 @@
 package com.calendar.config;
 
+import com.calendar.dto.CursorPage;
 import com.calendar.security.AuthEntryPointJwt;
 import com.calendar.security.AuthTokenFilter;
+import com.calendar.security.TimedPasswordEncoder;
 import com.calendar.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +37,9 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -54,7 +60,7 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
@@ -67,6 +73,8 @@ public class WebSecurityConfig {
                 auth.requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/h2-console/**").permitAll()
                     .requestMatchers("/api/test/**").permitAll()
+                    // Served on the loopback-only management port, see management.server
+                    .requestMatchers("/actuator/**").permitAll()
                     .anyRequest().authenticated()
             );
 
@@ -86,6 +94,7 @@ public class WebSecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(CursorPage.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,17 +1,37 @@
 package com.calendar.controller;
 
+import com.calendar.dto.BatchItemResult;
+import com.calendar.dto.CursorPage;
+import com.calendar.dto.EventChangesResponse;
 import com.calendar.dto.EventDto;
 import com.calendar.dto.MessageResponse;
+import com.calendar.dto.SlotSuggestionRequest;
+import com.calendar.dto.TimeRange;
 import com.calendar.security.UserPrincipal;
+import com.calendar.service.ConflictCheck;
+import com.calendar.service.EventConflictException;
+import com.calendar.service.EventPushService;
 import com.calendar.service.EventService;
+import com.calendar.service.SlotFinderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,10 +43,65 @@ public class EventController {
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private SlotFinderService slotFinderService;
+
+    @Autowired
+    private EventPushService eventPushService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${calendar.pagination.max-limit:200}")
+    private int maxPageSize;
+
+    @Value("${calendar.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${calendar.search.max-results:100}")
+    private int maxSearchResults;
+
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<EventDto> events = eventService.getAllEventsForUser(userPrincipal.getId());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getAllEvents(@AuthenticationPrincipal UserPrincipal userPrincipal,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String after) {
+        // Without a limit the first page is as large as allowed; stream=true exports everything
+        try {
+            int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+            CursorPage<EventDto> page = eventService.getEventsPageForUser(userPrincipal.getId(), pageSize, after);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // All of the user's events as one JSON array, written row by row for large exports
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEvents(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Long userId = userPrincipal.getId();
+        // Let the servlet buffer decide when to flush instead of flushing after every event
+        ObjectWriter writer = objectMapper.writerFor(EventDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                eventService.streamAllEventsForUser(userId, event -> {
+                    try {
+                        writer.writeValue(generator, event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @GetMapping("/range")
@@ -38,6 +113,43 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<EventChangesResponse> getChanges(@AuthenticationPrincipal UserPrincipal userPrincipal,
+                                                           @RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(eventService.getChangesForUser(userPrincipal.getId(), since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Server-sent "change" notifications for the caller's events; see EventPushService
+    @GetMapping(path = "/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter notifications(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return eventPushService.subscribe(userPrincipal.getId());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EventDto>> searchEvents(@AuthenticationPrincipal UserPrincipal userPrincipal,
+                                                       @RequestParam String q,
+                                                       @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int maxResults = limit == null ? 20 : Math.max(1, Math.min(limit, maxSearchResults));
+        return ResponseEntity.ok(eventService.searchEvents(userPrincipal.getId(), q, maxResults));
+    }
+
+    @PostMapping("/suggest-slots")
+    public ResponseEntity<List<TimeRange>> suggestSlots(@Valid @RequestBody SlotSuggestionRequest request,
+                                                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            return ResponseEntity.ok(slotFinderService.suggestSlots(request, userPrincipal.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EventDto> getEventById(@PathVariable Long id, 
                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -50,23 +162,33 @@ public class EventController {
     }
 
     @PostMapping
-    public ResponseEntity<EventDto> createEvent(@Valid @RequestBody EventDto eventDto,
-                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<?> createEvent(@Valid @RequestBody EventDto eventDto,
+                                         @RequestParam(defaultValue = "false") boolean checkConflicts,
+                                         @RequestParam(defaultValue = "false") boolean strict,
+                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            EventDto createdEvent = eventService.createEvent(eventDto, userPrincipal.getId());
+            EventDto createdEvent = eventService.createEvent(eventDto, userPrincipal.getId(),
+                    conflictCheck(checkConflicts, strict));
             return ResponseEntity.ok(createdEvent);
+        } catch (EventConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getConflicts());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EventDto> updateEvent(@PathVariable Long id,
-                                              @Valid @RequestBody EventDto eventDto,
-                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id,
+                                         @Valid @RequestBody EventDto eventDto,
+                                         @RequestParam(defaultValue = "false") boolean checkConflicts,
+                                         @RequestParam(defaultValue = "false") boolean strict,
+                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            EventDto updatedEvent = eventService.updateEvent(id, eventDto, userPrincipal.getId());
+            EventDto updatedEvent = eventService.updateEvent(id, eventDto, userPrincipal.getId(),
+                    conflictCheck(checkConflicts, strict));
             return ResponseEntity.ok(updatedEvent);
+        } catch (EventConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getConflicts());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -83,6 +205,73 @@ public class EventController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createEvents(@RequestBody List<EventDto> eventDtos,
+                                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (eventDtos.isEmpty() || eventDtos.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.createEvents(eventDtos, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateEvents(@RequestBody List<EventDto> eventDtos,
+                                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (eventDtos.isEmpty() || eventDtos.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.updateEvents(eventDtos, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteEvents(@RequestParam List<Long> ids,
+                                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (ids.isEmpty() || ids.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.deleteEvents(ids, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/participants")
+    public ResponseEntity<EventDto> addParticipants(@PathVariable Long id,
+                                                  @RequestBody List<Long> participantIds,
+                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (participantIds.isEmpty() || participantIds.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.addParticipantsToEvent(id, participantIds, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/participants")
+    public ResponseEntity<EventDto> removeParticipants(@PathVariable Long id,
+                                                     @RequestParam List<Long> ids,
+                                                     @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (ids.isEmpty() || ids.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.removeParticipantsFromEvent(id, ids, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/{id}/participants/{participantId}")
     public ResponseEntity<EventDto> addParticipant(@PathVariable Long id,
                                                  @PathVariable Long participantId,
@@ -106,4 +295,11 @@ public class EventController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private static ConflictCheck conflictCheck(boolean checkConflicts, boolean strict) {
+        if (strict) {
+            return ConflictCheck.REJECT;
+        }
+        return checkConflicts ? ConflictCheck.REPORT : ConflictCheck.NONE;
+    }
 }
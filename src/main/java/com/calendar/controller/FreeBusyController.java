@@ -0,0 +1,32 @@
+package com.calendar.controller;
+
+import com.calendar.dto.FreeBusyDto;
+import com.calendar.service.FreeBusyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/freebusy")
+public class FreeBusyController {
+
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    @GetMapping
+    public ResponseEntity<List<FreeBusyDto>> getFreeBusy(
+            @RequestParam List<Long> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(freeBusyService.getFreeBusy(userIds, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.calendar.controller;
 
+import com.calendar.dto.CursorPage;
 import com.calendar.dto.UserDto;
-import com.calendar.model.User;
 import com.calendar.repository.UserRepository;
 import com.calendar.security.UserPrincipal;
+import com.calendar.service.UserTypeaheadService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -20,35 +22,66 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserTypeaheadService userTypeaheadService;
+
+    @Value("${calendar.pagination.max-limit:200}")
+    private int maxPageSize;
+
+    @Value("${calendar.typeahead.max-results:20}")
+    private int maxTypeaheadResults;
+
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId())
+        // Loaded by id so the lookup is served from the second-level cache
+        UserDto user = userRepository.findById(userPrincipal.getId())
+                .map(UserDto::new)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(new UserDto(user));
+        return ResponseEntity.ok(user);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<UserDto>> searchUsers(@RequestParam String searchTerm) {
-        List<User> users = userRepository.findBySearchTerm(searchTerm);
-        List<UserDto> userDtos = users.stream()
-                .map(UserDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userDtos);
+        return ResponseEntity.ok(userRepository.findDtosBySearchTerm(searchTerm));
+    }
+
+    // Prefix matches from memory, for lookups on every keystroke
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<UserDto>> typeahead(@RequestParam String q,
+                                                   @RequestParam(required = false) Integer limit) {
+        int maxResults = limit == null ? 10 : Math.max(1, Math.min(limit, maxTypeaheadResults));
+        return ResponseEntity.ok(userTypeaheadService.search(q, maxResults));
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        List<UserDto> userDtos = users.stream()
-                .map(UserDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userDtos);
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String after) {
+        // Without a limit the first page is as large as allowed; callers follow the cursor for more
+        int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<UserDto> users;
+        try {
+            users = after == null
+                    ? userRepository.findDtosOrderByUsername(page)
+                    : userRepository.findDtosAfterUsername(CursorPage.decodeCursor(after, 1)[0], page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            response.header(CursorPage.NEXT_CURSOR_HEADER, CursorPage.encodeCursor(users.get(pageSize - 1).getUsername()));
+        }
+        return response.body(users);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        User user = userRepository.findById(id)
+        UserDto user = userRepository.findById(id)
+                .map(UserDto::new)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(new UserDto(user));
+        return ResponseEntity.ok(user);
     }
 }
@@ -0,0 +1,72 @@
+package com.calendar.dto;
+
+/**
+ * Outcome of one item of a batch request, identified by its position in the request.
+ */
+public class BatchItemResult {
+    private int index;
+    private Long id;
+    private boolean success;
+    private EventDto event;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public static BatchItemResult succeeded(int index, Long id, EventDto event) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.id = id;
+        result.success = true;
+        result.event = event;
+        return result;
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.id = id;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public EventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventDto event) {
+        this.event = event;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.calendar.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a free/busy projection query: one event a user owns or takes part in.
+ */
+public class BusyRow {
+    private final Long userId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final boolean recurring;
+    private final String recurrencePattern;
+
+    public BusyRow(Long userId, LocalDateTime startTime, LocalDateTime endTime, boolean recurring, String recurrencePattern) {
+        this.userId = userId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.recurring = recurring;
+        this.recurrencePattern = recurrencePattern;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public boolean isRecurring() {
+        return recurring;
+    }
+
+    public String getRecurrencePattern() {
+        return recurrencePattern;
+    }
+}
@@ -0,0 +1,62 @@
+package com.calendar.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the conflict projection query: an event overlapping the checked time, with its owner
+ * and, when one of the checked users takes part in it, that participant.
+ */
+public class ConflictRow {
+    private final Long eventId;
+    private final String title;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final boolean recurring;
+    private final String recurrencePattern;
+    private final Long ownerId;
+    private final Long participantId;
+
+    public ConflictRow(Long eventId, String title, LocalDateTime startTime, LocalDateTime endTime,
+                       boolean recurring, String recurrencePattern, Long ownerId, Long participantId) {
+        this.eventId = eventId;
+        this.title = title;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.recurring = recurring;
+        this.recurrencePattern = recurrencePattern;
+        this.ownerId = ownerId;
+        this.participantId = participantId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public boolean isRecurring() {
+        return recurring;
+    }
+
+    public String getRecurrencePattern() {
+        return recurrencePattern;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+}
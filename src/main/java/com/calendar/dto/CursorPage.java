@@ -0,0 +1,50 @@
+package com.calendar.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The cursor is an opaque token encoding the sort
+ * key of the last item, and is null on the final page.
+ */
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final char SEPARATOR = '\n';
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public static String encodeCursor(String... keys) {
+        String joined = String.join(String.valueOf(SEPARATOR), keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodeCursor(String cursor, int expectedKeys) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (keys.length != expectedKeys) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return keys;
+    }
+}
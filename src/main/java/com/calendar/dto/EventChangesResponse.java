@@ -0,0 +1,57 @@
+package com.calendar.dto;
+
+import java.util.List;
+
+/**
+ * Delta sync result: events created or updated since the client's token, ids of events the
+ * user can no longer see, and the token to send next time. With fullSync set, events holds
+ * the whole calendar and replaces what the client has.
+ */
+public class EventChangesResponse {
+    private List<EventDto> events;
+    private List<Long> deletedIds;
+    private String token;
+    private boolean fullSync;
+
+    public EventChangesResponse() {
+    }
+
+    public EventChangesResponse(List<EventDto> events, List<Long> deletedIds, String token, boolean fullSync) {
+        this.events = events;
+        this.deletedIds = deletedIds;
+        this.token = token;
+        this.fullSync = fullSync;
+    }
+
+    public List<EventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventDto> events) {
+        this.events = events;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    public void setFullSync(boolean fullSync) {
+        this.fullSync = fullSync;
+    }
+}
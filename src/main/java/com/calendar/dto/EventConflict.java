@@ -0,0 +1,73 @@
+package com.calendar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * An existing event that overlaps the event being written, for one of its users. For recurring
+ * events the times are those of the first overlapping occurrence. Id and title are left out
+ * for events the writing user cannot see.
+ */
+public class EventConflict {
+    private Long userId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long eventId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public EventConflict() {
+    }
+
+    public EventConflict(Long userId, Long eventId, String title, LocalDateTime startTime, LocalDateTime endTime) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.title = title;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+}
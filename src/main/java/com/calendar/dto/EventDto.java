@@ -1,11 +1,14 @@
 package com.calendar.dto;
 
 import com.calendar.model.Event;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -40,6 +43,11 @@ public class EventDto {
     private List<Long> participantIds;
     private List<UserDto> participants;
 
+    // Only filled in when a write was made with conflict checking
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<EventConflict> conflicts;
+
     public EventDto() {
     }
 
@@ -72,6 +80,45 @@ public class EventDto {
         }
     }
 
+    // Constructor for JPQL projections; participants are attached separately
+    public EventDto(Long id, String title, String description, LocalDateTime startTime, LocalDateTime endTime,
+                    String location, Event.EventType eventType, Event.EventStatus status, boolean isAllDay,
+                    boolean isRecurring, String recurrencePattern, Long ownerId, String ownerUsername) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.location = location;
+        this.eventType = eventType;
+        this.status = status;
+        this.isAllDay = isAllDay;
+        this.isRecurring = isRecurring;
+        this.recurrencePattern = recurrencePattern;
+        this.ownerId = ownerId;
+        this.ownerUsername = ownerUsername;
+    }
+
+    // Copy constructor, used for occurrences of recurring events and for the copies handed to
+    // change listeners. Conflicts are not copied; they belong to one response.
+    public EventDto(EventDto other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.startTime = other.startTime;
+        this.endTime = other.endTime;
+        this.location = other.location;
+        this.eventType = other.eventType;
+        this.status = other.status;
+        this.isAllDay = other.isAllDay;
+        this.isRecurring = other.isRecurring;
+        this.recurrencePattern = other.recurrencePattern;
+        this.ownerId = other.ownerId;
+        this.ownerUsername = other.ownerUsername;
+        this.participantIds = other.participantIds != null ? new ArrayList<>(other.participantIds) : null;
+        this.participants = other.participants != null ? new ArrayList<>(other.participants) : null;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -192,4 +239,12 @@ public class EventDto {
     public void setParticipants(List<UserDto> participants) {
         this.participants = participants;
     }
+
+    public List<EventConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<EventConflict> conflicts) {
+        this.conflicts = conflicts;
+    }
 }
@@ -0,0 +1,34 @@
+package com.calendar.dto;
+
+/**
+ * Push message telling a client that one of its events changed. Clients fetch the details
+ * through /api/events/changes.
+ */
+public class EventNotification {
+    private String type;
+    private Long eventId;
+
+    public EventNotification() {
+    }
+
+    public EventNotification(String type, Long eventId) {
+        this.type = type;
+        this.eventId = eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.calendar.dto;
+
+import java.util.List;
+
+public class FreeBusyDto {
+    private Long userId;
+    private List<TimeRange> busy;
+
+    public FreeBusyDto() {
+    }
+
+    public FreeBusyDto(Long userId, List<TimeRange> busy) {
+        this.userId = userId;
+        this.busy = busy;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<TimeRange> getBusy() {
+        return busy;
+    }
+
+    public void setBusy(List<TimeRange> busy) {
+        this.busy = busy;
+    }
+}
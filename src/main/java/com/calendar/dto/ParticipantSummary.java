@@ -0,0 +1,22 @@
+package com.calendar.dto;
+
+/**
+ * Row of a participant projection query: the event id plus the user columns of UserDto.
+ */
+public class ParticipantSummary {
+    private final Long eventId;
+    private final UserDto user;
+
+    public ParticipantSummary(Long eventId, Long userId, String username, String email, String firstName, String lastName) {
+        this.eventId = eventId;
+        this.user = new UserDto(userId, username, email, firstName, lastName);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public UserDto getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,110 @@
+package com.calendar.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+public class SlotSuggestionRequest {
+    @NotEmpty
+    private List<Long> participantIds;
+
+    @NotNull
+    @Positive
+    private Integer durationMinutes;
+
+    @NotNull
+    private LocalDateTime windowStart;
+
+    @NotNull
+    private LocalDateTime windowEnd;
+
+    private LocalTime workdayStart = LocalTime.of(9, 0);
+    private LocalTime workdayEnd = LocalTime.of(17, 0);
+    private boolean includeWeekends;
+
+    // Primitives, so an explicit null in the request becomes 0 and fails validation
+    @Positive
+    private int stepMinutes = 30;
+
+    @Positive
+    private int maxResults = 10;
+
+    public SlotSuggestionRequest() {
+    }
+
+    public List<Long> getParticipantIds() {
+        return participantIds;
+    }
+
+    public void setParticipantIds(List<Long> participantIds) {
+        this.participantIds = participantIds;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public LocalTime getWorkdayStart() {
+        return workdayStart;
+    }
+
+    public void setWorkdayStart(LocalTime workdayStart) {
+        this.workdayStart = workdayStart;
+    }
+
+    public LocalTime getWorkdayEnd() {
+        return workdayEnd;
+    }
+
+    public void setWorkdayEnd(LocalTime workdayEnd) {
+        this.workdayEnd = workdayEnd;
+    }
+
+    public boolean isIncludeWeekends() {
+        return includeWeekends;
+    }
+
+    public void setIncludeWeekends(boolean includeWeekends) {
+        this.includeWeekends = includeWeekends;
+    }
+
+    public int getStepMinutes() {
+        return stepMinutes;
+    }
+
+    public void setStepMinutes(int stepMinutes) {
+        this.stepMinutes = stepMinutes;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+}
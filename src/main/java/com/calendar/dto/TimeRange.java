@@ -0,0 +1,32 @@
+package com.calendar.dto;
+
+import java.time.LocalDateTime;
+
+public class TimeRange {
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public TimeRange() {
+    }
+
+    public TimeRange(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+}
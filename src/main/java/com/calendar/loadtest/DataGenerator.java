@@ -0,0 +1,220 @@
+package com.calendar.loadtest;
+
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.repository.UserRepository;
+import com.calendar.service.EventChangeLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic calendar when the "seed" profile is active. Users are named seed1..seedN
+ * and share calendar.seed.password. Events are spread over a year around today, mostly in
+ * working hours. Most have a few participants picked from the owner's neighbours, so teams
+ * see each other's events, and a configurable share recur.
+ *
+ * Rows are written in chunks of calendar.seed.batch-size per transaction, bypassing the
+ * second-level cache. User ids are IDENTITY columns, for which Hibernate turns JDBC batching
+ * off, so users are inserted with a JdbcTemplate batch and their ids read back afterwards;
+ * events use sequence ids and go through Hibernate's JDBC batching. Seeding is skipped when
+ * the database already has users, so a file database can be seeded once and reused.
+ */
+@Component
+@Profile("seed")
+public class DataGenerator implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley",
+            "Jamie", "Avery", "Quinn", "Maria", "Wei", "Priya", "Omar", "Lena", "Kenji", "Sofia", "Noah"};
+    private static final String[] LAST_NAMES = {"Smith", "Garcia", "Chen", "Patel", "Kim", "Muller", "Rossi",
+            "Silva", "Nguyen", "Johnson", "Kowalski", "Haddad", "Novak", "Tanaka", "Brown", "Lopez"};
+    private static final String[] TITLES = {"Standup", "1:1", "Design review", "Sprint planning", "Retro",
+            "Customer call", "Interview", "Lunch", "All hands", "Architecture sync", "Budget review", "Demo"};
+    private static final String[] LOCATIONS = {"Room A", "Room B", "Board room", "Cafeteria", "Video call",
+            "Office 3.14", "Client site"};
+    private static final String[] RECURRENCE_PATTERNS = {"FREQ=WEEKLY", "FREQ=WEEKLY", "FREQ=DAILY;COUNT=10",
+            "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=WEEKLY;INTERVAL=2", "Monthly"};
+    private static final int[] DURATIONS = {30, 30, 60, 60, 60, 90, 120};
+
+    // Participants are drawn from this many users on either side of the owner
+    private static final int TEAM_SPAN = 100;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventChangeLog eventChangeLog;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${calendar.seed.users:1000}")
+    private int userCount;
+
+    @Value("${calendar.seed.events:100000}")
+    private long eventCount;
+
+    @Value("${calendar.seed.password:password}")
+    private String password;
+
+    @Value("${calendar.seed.recurring-ratio:0.1}")
+    private double recurringRatio;
+
+    @Value("${calendar.seed.max-participants:30}")
+    private int maxParticipants;
+
+    @Value("${calendar.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${calendar.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Override
+    public void run(String... args) {
+        if (userRepository.count() > 0) {
+            logger.info("Database already has users, skipping seed");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        long[] userIds = seedUsers(random);
+        seedEvents(userIds, random);
+        logger.info("Seeded {} users and {} events in {} s", userIds.length, eventCount,
+                (System.currentTimeMillis() - started) / 1000);
+    }
+
+    private long[] seedUsers(Random random) {
+        // One hash for everyone; encoding is deliberately slow
+        String passwordHash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < userCount; from += batchSize) {
+            int to = Math.min(from + batchSize, userCount);
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String username = "seed" + (i + 1);
+                rows.add(new Object[]{username, username + "@example.com", passwordHash,
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                        LAST_NAMES[random.nextInt(LAST_NAMES.length)], now, now});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO users (username, email, password, first_name, last_name, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", rows));
+        }
+
+        // The table was empty before seeding, so every user is seed<n>
+        long[] userIds = new long[userCount];
+        jdbcTemplate.query("SELECT id, username FROM users", row -> {
+            userIds[Integer.parseInt(row.getString(2).substring(4)) - 1] = row.getLong(1);
+        });
+        logger.info("Seeded {} users", userCount);
+        return userIds;
+    }
+
+    private void seedEvents(long[] userIds, Random random) {
+        LocalDate today = LocalDate.now();
+        long logEvery = Math.max(batchSize, eventCount / 20);
+        for (long from = 0; from < eventCount; from += batchSize) {
+            long to = Math.min(from + batchSize, eventCount);
+            long first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                for (long n = first; n < to; n++) {
+                    entityManager.persist(event(userIds, random, today));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            if (to % logEvery < batchSize) {
+                logger.info("Seeded {} of {} events", to, eventCount);
+            }
+        }
+    }
+
+    private Event event(long[] userIds, Random random, LocalDate today) {
+        int ownerIndex = random.nextInt(userIds.length);
+        Event event = new Event();
+        event.setTitle(TITLES[random.nextInt(TITLES.length)]);
+        event.setOwner(entityManager.getReference(User.class, userIds[ownerIndex]));
+        if (random.nextInt(3) > 0) {
+            event.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        }
+        if (random.nextInt(4) == 0) {
+            event.setDescription("Notes and agenda for " + event.getTitle().toLowerCase());
+        }
+
+        LocalDate day = today.plusDays(random.nextInt(365) - 182);
+        if (random.nextInt(20) == 0) {
+            event.setAllDay(true);
+            event.setStartTime(day.atStartOfDay());
+            event.setEndTime(day.plusDays(1).atStartOfDay());
+        } else {
+            LocalDateTime start = day.atTime(8, 0).plusMinutes(30L * random.nextInt(20));
+            event.setStartTime(start);
+            event.setEndTime(start.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]));
+        }
+        if (random.nextDouble() < recurringRatio) {
+            event.setRecurring(true);
+            event.setRecurrencePattern(RECURRENCE_PATTERNS[random.nextInt(RECURRENCE_PATTERNS.length)]);
+        }
+
+        Event.EventType[] types = Event.EventType.values();
+        event.setEventType(types[random.nextInt(types.length)]);
+        int status = random.nextInt(20);
+        event.setStatus(status < 12 ? Event.EventStatus.SCHEDULED : status < 17 ? Event.EventStatus.CONFIRMED
+                : status < 19 ? Event.EventStatus.TENTATIVE : Event.EventStatus.CANCELLED);
+
+        int participants = Math.min(participantCount(random), userIds.length - 1);
+        while (event.getParticipants().size() < participants) {
+            int offset = random.nextInt(2 * TEAM_SPAN + 1) - TEAM_SPAN;
+            int index = Math.floorMod(ownerIndex + offset, userIds.length);
+            if (index != ownerIndex) {
+                event.getParticipants().add(entityManager.getReference(User.class, userIds[index]));
+            }
+        }
+        event.setChangeSeq(eventChangeLog.next());
+        return event;
+    }
+
+    // Skewed fan-out: many events are private, most meetings are small, a few are large
+    private int participantCount(Random random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 40) {
+            return 0;
+        }
+        if (bucket < 80) {
+            return 1 + random.nextInt(3);
+        }
+        if (bucket < 95) {
+            return 4 + random.nextInt(7);
+        }
+        return Math.min(maxParticipants, 11 + random.nextInt(Math.max(1, maxParticipants - 10)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.calendar.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response times per endpoint. Every sample is kept so percentiles are exact; a load run
+ * produces at most a few million of them.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(nanos, success);
+    }
+
+    List<String> report(Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-52s %9s %7s %9s %9s %9s %9s",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            long[] samples = entry.getValue().sorted();
+            if (samples.length == 0) {
+                continue;
+            }
+            lines.add(String.format("%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f",
+                    entry.getKey(), samples.length, entry.getValue().errors(), samples.length / seconds,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(samples[samples.length - 1])));
+        }
+        return lines;
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Series {
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.calendar.loadtest;
+
+import com.calendar.dto.EventDto;
+import com.calendar.dto.LoginRequest;
+import com.calendar.dto.SignupRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load against the embedded server, started once the application accepts
+ * traffic when the "loadtest" profile is active. Each of calendar.loadtest.threads virtual users
+ * sends a request, waits for the response and immediately sends the next one, choosing the
+ * operation by the weights under calendar.loadtest.mix. Requests made during the warmup are
+ * not counted. At the end, request count, errors, throughput and p50/p99 latency are logged
+ * per endpoint.
+ *
+ * Virtual users sign in as seed1..seedN (see {@link DataGenerator}) and sign those accounts
+ * up first if they do not exist yet.
+ */
+@Component
+@Profile("loadtest")
+public class LoadDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final int OWN_EVENTS = 20;
+
+    private enum Operation {
+        SIGNIN, LIST, RANGE, CREATE, UPDATE, PARTICIPANTS
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${calendar.loadtest.threads:16}")
+    private int threads;
+
+    @Value("${calendar.loadtest.duration:60s}")
+    private Duration duration;
+
+    @Value("${calendar.loadtest.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${calendar.loadtest.accounts:100}")
+    private int accountCount;
+
+    @Value("${calendar.loadtest.page-size:50}")
+    private int pageSize;
+
+    @Value("${calendar.seed.password:password}")
+    private String password;
+
+    @Value("${calendar.loadtest.exit:true}")
+    private boolean exitWhenDone;
+
+    @Value("${calendar.loadtest.mix.signin:2}")
+    private int signinWeight;
+
+    @Value("${calendar.loadtest.mix.list:20}")
+    private int listWeight;
+
+    @Value("${calendar.loadtest.mix.range:45}")
+    private int rangeWeight;
+
+    @Value("${calendar.loadtest.mix.create:10}")
+    private int createWeight;
+
+    @Value("${calendar.loadtest.mix.update:13}")
+    private int updateWeight;
+
+    @Value("${calendar.loadtest.mix.participants:10}")
+    private int participantsWeight;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private HttpClient client;
+    private String baseUrl;
+    private Operation[] mix;
+    private List<Account> accounts;
+    private volatile long measureFrom;
+
+    // Published after every ApplicationReadyEvent listener, so the in-memory indexes are built
+    @EventListener(condition = "#event.state == T(org.springframework.boot.availability.ReadinessState).ACCEPTING_TRAFFIC")
+    public void start(AvailabilityChangeEvent<ReadinessState> event) {
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        mix = mix();
+        Thread driver = new Thread(this::run, "load-driver");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    private void run() {
+        int exitCode = 0;
+        try {
+            accounts = signInAccounts();
+            logger.info("Load test: {} threads, {} accounts, {} warmup, {} measured",
+                    threads, accounts.size(), warmup, duration);
+
+            long started = System.nanoTime();
+            measureFrom = started + warmup.toNanos();
+            long deadline = measureFrom + duration.toNanos();
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.execute(() -> new VirtualUser().runUntil(deadline));
+            }
+            workers.shutdown();
+            workers.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+
+            for (String line : recorder.report(duration)) {
+                logger.info(line);
+            }
+        } catch (Exception e) {
+            logger.error("Load test failed", e);
+            exitCode = 1;
+        }
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private Operation[] mix() {
+        int[] weights = {signinWeight, listWeight, rangeWeight, createWeight, updateWeight, participantsWeight};
+        List<Operation> operations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < weights[operation.ordinal()]; i++) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("calendar.loadtest.mix has no positive weights");
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    // Signs in every account in parallel, registering the ones that do not exist yet
+    private List<Account> signInAccounts() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Account>> futures = new ArrayList<>();
+            for (int i = 1; i <= accountCount; i++) {
+                String username = "seed" + i;
+                futures.add(pool.submit(() -> {
+                    Account account = signIn(username, null);
+                    if (account == null) {
+                        signUp(username);
+                        account = signIn(username, null);
+                    }
+                    return account;
+                }));
+            }
+            List<Account> signedIn = new ArrayList<>();
+            for (Future<Account> future : futures) {
+                Account account = future.get();
+                if (account != null) {
+                    signedIn.add(account);
+                }
+            }
+            if (signedIn.isEmpty()) {
+                throw new IllegalStateException("No account could sign in");
+            }
+            return signedIn;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Account signIn(String username, String endpoint) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(body(new LoginRequest(username, password))));
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode jwt = objectMapper.readTree(response.body());
+        return new Account(username, jwt.get("id").asLong(), jwt.get("accessToken").asText());
+    }
+
+    private void signUp(String username) throws IOException, InterruptedException {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword(password);
+        request.setFirstName("Load");
+        request.setLastName("Test");
+        send(null, HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(body(request)));
+    }
+
+    /**
+     * Sends the request and records its latency under the endpoint unless the endpoint is
+     * null or the warmup is still running. Returns null when the request failed to complete.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        }
+        if (endpoint != null && start >= measureFrom) {
+            recorder.record(endpoint, System.nanoTime() - start,
+                    response != null && response.statusCode() < 400);
+        }
+        return response;
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    private static final class Account {
+        final String username;
+        final Long id;
+        final String token;
+
+        Account(String username, Long id, String token) {
+            this.username = username;
+            this.id = id;
+            this.token = token;
+        }
+    }
+
+    private final class VirtualUser {
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+        private Account account = accounts.get(random.nextInt(accounts.size()));
+        // Events created by the current account, with the participant added to each, if any
+        private final List<Long> ownEvents = new ArrayList<>();
+        private final Map<Long, Long> addedParticipants = new HashMap<>();
+
+        void runUntil(long deadline) {
+            try {
+                while (System.nanoTime() < deadline) {
+                    step(mix[random.nextInt(mix.length)]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.warn("Virtual user stopped: {}", e.getMessage());
+            }
+        }
+
+        private void step(Operation operation) throws IOException, InterruptedException {
+            if ((operation == Operation.UPDATE || operation == Operation.PARTICIPANTS) && ownEvents.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            switch (operation) {
+                case SIGNIN -> signInAsAnother();
+                case LIST -> send("GET /api/events", authorized("/events?limit=" + pageSize).GET());
+                case RANGE -> {
+                    LocalDateTime from = LocalDate.now().plusDays(random.nextInt(180) - 90).atStartOfDay();
+                    send("GET /api/events/range", authorized("/events/range?startDate=" + from
+                            + "&endDate=" + from.plusDays(7)).GET());
+                }
+                case CREATE -> create();
+                case UPDATE -> update();
+                case PARTICIPANTS -> toggleParticipant();
+            }
+        }
+
+        private void signInAsAnother() throws IOException, InterruptedException {
+            String username = accounts.get(random.nextInt(accounts.size())).username;
+            Account signedIn = signIn(username, "POST /api/auth/signin");
+            if (signedIn != null) {
+                account = signedIn;
+                ownEvents.clear();
+                addedParticipants.clear();
+            }
+        }
+
+        private void create() throws IOException, InterruptedException {
+            HttpResponse<String> response = send("POST /api/events", authorized("/events")
+                    .header("Content-Type", "application/json")
+                    .POST(body(event("Load test"))));
+            if (response != null && response.statusCode() == 200) {
+                ownEvents.add(objectMapper.readValue(response.body(), EventDto.class).getId());
+                if (ownEvents.size() > OWN_EVENTS) {
+                    addedParticipants.remove(ownEvents.remove(0));
+                }
+            }
+        }
+
+        private void update() throws IOException, InterruptedException {
+            Long eventId = ownEvents.get(random.nextInt(ownEvents.size()));
+            EventDto event = event("Load test (updated)");
+            Long participantId = addedParticipants.get(eventId);
+            if (participantId != null) {
+                event.setParticipantIds(List.of(participantId));
+            }
+            send("PUT /api/events/{id}", authorized("/events/" + eventId)
+                    .header("Content-Type", "application/json")
+                    .PUT(body(event)));
+        }
+
+        private void toggleParticipant() throws InterruptedException {
+            Long eventId = ownEvents.get(random.nextInt(ownEvents.size()));
+            Long participantId = addedParticipants.remove(eventId);
+            if (participantId != null) {
+                send("DELETE /api/events/{id}/participants/{participantId}",
+                        authorized("/events/" + eventId + "/participants/" + participantId).DELETE());
+                return;
+            }
+            Long otherId = accounts.get(random.nextInt(accounts.size())).id;
+            if (otherId.equals(account.id)) {
+                return;
+            }
+            HttpResponse<String> response = send("POST /api/events/{id}/participants/{participantId}",
+                    authorized("/events/" + eventId + "/participants/" + otherId)
+                            .POST(HttpRequest.BodyPublishers.noBody()));
+            if (response != null && response.statusCode() == 200) {
+                addedParticipants.put(eventId, otherId);
+            }
+        }
+
+        private EventDto event(String title) {
+            LocalDateTime start = LocalDate.now().plusDays(random.nextInt(60)).atTime(8 + random.nextInt(9), 0);
+            EventDto event = new EventDto();
+            event.setTitle(title);
+            event.setStartTime(start);
+            event.setEndTime(start.plusHours(1));
+            event.setParticipantIds(new ArrayList<>());
+            return event;
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + account.token);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.calendar.model;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,10 +13,28 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+@NamedEntityGraph(name = Event.GRAPH_OWNER_AND_PARTICIPANTS,
+                  attributeNodes = {@NamedAttributeNode("owner"), @NamedAttributeNode("participants")})
+@NamedEntityGraph(name = Event.GRAPH_OWNER,
+                  attributeNodes = @NamedAttributeNode("owner"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
+@Table(name = "events",
+       indexes = {
+           @Index(name = "idx_events_owner_time", columnList = "owner_id, start_time, end_time"),
+           @Index(name = "idx_events_owner_change", columnList = "owner_id, change_seq")
+       })
 public class Event {
+    // Fetch plans for list queries that map straight to EventDto. Paged and streamed queries
+    // use GRAPH_OWNER since a collection fetch cannot be limited in SQL; their participants
+    // are loaded in batches (hibernate.default_batch_fetch_size).
+    public static final String GRAPH_OWNER_AND_PARTICIPANTS = "Event.ownerAndParticipants";
+    public static final String GRAPH_OWNER = "Event.owner";
+
+    // Pooled sequence ids are assigned without a round trip per insert, which lets Hibernate
+    // batch the inserts (IDENTITY forces an immediate insert for every persist)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -56,14 +77,20 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Position of the latest write in the change log, for delta sync (see EventChangeLog)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-participants")
     @JoinTable(name = "event_participants",
                joinColumns = @JoinColumn(name = "event_id"),
-               inverseJoinColumns = @JoinColumn(name = "user_id"))
+               inverseJoinColumns = @JoinColumn(name = "user_id"),
+               indexes = @Index(name = "idx_event_participants_user", columnList = "user_id, event_id"))
     private Set<User> participants = new HashSet<>();
 
     public Event() {
@@ -193,6 +220,14 @@ public class Event {
         this.updatedAt = updatedAt;
     }
 
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -209,14 +244,20 @@ public class Event {
         this.participants = participants;
     }
 
+    // The inverse side is only kept in step when it is already loaded; initializing it would
+    // read every event the user takes part in
     public void addParticipant(User user) {
         participants.add(user);
-        user.getParticipatingEvents().add(this);
+        if (Hibernate.isInitialized(user.getParticipatingEvents())) {
+            user.getParticipatingEvents().add(this);
+        }
     }
 
     public void removeParticipant(User user) {
         participants.remove(user);
-        user.getParticipatingEvents().remove(this);
+        if (Hibernate.isInitialized(user.getParticipatingEvents())) {
+            user.getParticipatingEvents().remove(this);
+        }
     }
 
     // Enums
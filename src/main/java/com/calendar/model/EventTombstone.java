@@ -0,0 +1,87 @@
+package com.calendar.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that an event stopped being visible to a user, because it was deleted or the user
+ * was removed from it, so delta sync can tell clients to drop their copy.
+ */
+@Entity
+@Table(name = "event_tombstones",
+       indexes = {
+           @Index(name = "idx_event_tombstones_user_change", columnList = "user_id, change_seq")
+       })
+public class EventTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_tombstones_seq")
+    @SequenceGenerator(name = "event_tombstones_seq", sequenceName = "event_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "removed_at")
+    private LocalDateTime removedAt;
+
+    public EventTombstone() {
+    }
+
+    public EventTombstone(Long eventId, Long userId, Long changeSeq) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        removedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public LocalDateTime getRemovedAt() {
+        return removedAt;
+    }
+
+    public void setRemovedAt(LocalDateTime removedAt) {
+        this.removedAt = removedAt;
+    }
+}
@@ -1,9 +1,13 @@
 package com.calendar.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import com.calendar.security.UserPrincipalCacheListener;
+import com.calendar.service.UserTypeaheadListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
@@ -11,6 +15,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners({UserPrincipalCacheListener.class, UserTypeaheadListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users", 
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "username"),
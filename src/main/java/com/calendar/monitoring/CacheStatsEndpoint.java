@@ -0,0 +1,49 @@
+package com.calendar.monitoring;
+
+import com.calendar.dto.CacheRegionStats;
+import com.calendar.service.AgendaCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit/miss counts of each second-level cache region, query results included, and of the
+ * agenda cache since startup. Served as /actuator/cachestats on the management port, so it is
+ * not reachable through the public API.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AgendaCache agendaCache;
+
+    @ReadOperation
+    public List<CacheRegionStats> cacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionStats(regionName, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount()));
+            }
+        }
+        regions.add(agendaCache.getStats());
+        return regions;
+    }
+}
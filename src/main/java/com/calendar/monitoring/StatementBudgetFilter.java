@@ -0,0 +1,97 @@
+package com.calendar.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the statements each request runs, authentication included, and records them per
+ * route. Requests over calendar.sql.budget, or repeating one statement shape at least
+ * calendar.sql.repeat-threshold times, are logged with the shapes that were repeated. The
+ * latter is the usual sign of lazy associations being loaded one row at a time.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${calendar.sql.enabled:true}")
+    private boolean enabled;
+
+    @Value("${calendar.sql.budget:20}")
+    private int budget;
+
+    @Value("${calendar.sql.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.Scope scope = statementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementCounter.close();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int count = scope.getCount();
+        DistributionSummary.builder("calendar.sql.statements")
+                .description("SQL statements per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(count);
+
+        List<Map.Entry<String, Integer>> repeated = scope.repeatedShapes(repeatThreshold);
+        if (count <= budget && repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("calendar.sql.budget.exceeded")
+                .description("Requests over the statement budget or repeating a statement shape")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .increment();
+        if (repeated.isEmpty()) {
+            repeated = scope.repeatedShapes(2);
+        }
+        StringBuilder shapes = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : repeated) {
+            shapes.append(System.lineSeparator()).append("  ").append(entry.getValue()).append("x ")
+                    .append(entry.getKey());
+        }
+        logger.warn("{} {} ran {} statements (budget {}){}", request.getMethod(), request.getRequestURI(),
+                count, budget, shapes);
+    }
+}
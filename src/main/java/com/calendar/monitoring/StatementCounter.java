@@ -0,0 +1,109 @@
+package com.calendar.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a scope opened by
+ * {@link StatementBudgetFilter} is active. Statements are kept by their text, and turned into
+ * shapes only when a scope is reported, so the per-statement cost is one map update.
+ *
+ * A JDBC batch is prepared once however many rows it writes, so it counts as one statement.
+ *
+ * Scopes are per thread. Statements run after the request thread has returned, such as those
+ * of a StreamingResponseBody or an SseEmitter, or on @Async and other executor threads, are
+ * not counted. Scopes nest: a statement counts towards every scope open on the thread.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    // Distinct statement texts remembered per scope; further ones are only counted
+    private static final int MAX_DISTINCT = 256;
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.add(sql);
+        }
+        return sql;
+    }
+
+    public Scope open() {
+        Scope scope = new Scope(current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    // Closes the innermost scope and makes the one around it current again
+    public void close() {
+        Scope scope = current.get();
+        if (scope != null && scope.parent != null) {
+            current.set(scope.parent);
+        } else {
+            current.remove();
+        }
+    }
+
+    // Batch fetches pad IN lists to different lengths, so those and literals are collapsed
+    static String shape(String sql) {
+        String shape = IN_LIST.matcher(sql).replaceAll("(?...)");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public static final class Scope {
+        private final Scope parent;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+
+        Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        void add(String sql) {
+            count++;
+            if (statements.size() < MAX_DISTINCT || statements.containsKey(sql)) {
+                statements.merge(sql, 1, Integer::sum);
+            }
+            if (parent != null) {
+                parent.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Statement shapes run at least minCount times, most frequent first.
+         */
+        public List<Map.Entry<String, Integer>> repeatedShapes(int minCount) {
+            Map<String, Integer> shapes = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : statements.entrySet()) {
+                shapes.merge(shape(entry.getKey()), entry.getValue(), Integer::sum);
+            }
+            List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (entry.getValue() >= minCount) {
+                    repeated.add(entry);
+                }
+            }
+            repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            return repeated;
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.calendar.repository;
 
+import com.calendar.dto.BusyRow;
+import com.calendar.dto.ConflictRow;
+import com.calendar.dto.EventDto;
+import com.calendar.dto.ParticipantSummary;
 import com.calendar.model.Event;
 import com.calendar.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -17,30 +33,217 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByOwnerOrderByStartTimeAsc(User owner);
     
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
     @Query("SELECT e FROM Event e WHERE e.owner = :user OR :user MEMBER OF e.participants")
     List<Event> findEventsByUserInvolved(@Param("user") User user);
     
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
     @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) ORDER BY e.startTime ASC")
     List<Event> findEventsByUserInvolvedOrderByStartTime(@Param("user") User user);
     
-    @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) AND e.startTime BETWEEN :startDate AND :endDate ORDER BY e.startTime ASC")
+    // Forward-only cursor for exports; must be consumed and closed inside a transaction
+    @EntityGraph(Event.GRAPH_OWNER)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) ORDER BY e.startTime ASC")
+    Stream<Event> streamEventsByUserInvolvedOrderByStartTime(@Param("user") User user);
+    
+    // Overlap rather than start-in-window, so multi-day events that began earlier are included.
+    // Recurring series that started before the window are returned for expansion by RecurrenceService.
+    // Each branch can be answered from idx_events_owner_time / idx_event_participants_user.
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
+    @Query("SELECT e FROM Event e WHERE e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true) " +
+           "AND (e.owner = :user OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u = :user)) " +
+           "ORDER BY e.startTime ASC")
     List<Event> findEventsByUserAndDateRange(@Param("user") User user, 
                                            @Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate);
     
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
     @Query("SELECT e FROM Event e WHERE e.startTime BETWEEN :startDate AND :endDate ORDER BY e.startTime ASC")
     List<Event> findEventsByDateRange(@Param("startDate") LocalDateTime startDate, 
                                     @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) AND e.title LIKE %:searchTerm%")
-    List<Event> findEventsByUserAndSearchTerm(@Param("user") User user, 
-                                            @Param("searchTerm") String searchTerm);
-    
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
     @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) AND e.status = :status")
     List<Event> findEventsByUserAndStatus(@Param("user") User user, 
                                         @Param("status") Event.EventStatus status);
     
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
     @Query("SELECT e FROM Event e WHERE (e.owner = :user OR :user MEMBER OF e.participants) AND e.eventType = :eventType")
     List<Event> findEventsByUserAndEventType(@Param("user") User user, 
                                            @Param("eventType") Event.EventType eventType);
+    
+    // Read-only projections: select only the columns EventDto needs, without managed entities.
+    // Participants are attached afterwards with findParticipantSummariesByEventIds.
+    // The calendar reads below go through the query cache; any write to the tables they read
+    // invalidates their cached results.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE o.id = :userId OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u.id = :userId) " +
+           "ORDER BY e.startTime ASC")
+    List<EventDto> findEventDtosByUserInvolvedOrderByStartTime(@Param("userId") Long userId);
+    
+    // Overlap rather than start-in-window, so multi-day events that began earlier are included,
+    // and recurring series that started before the window are returned for expansion. Owned and
+    // participating events are read by separate queries: an OR across the two would keep the
+    // database from using either index, so the owner branch is answered from
+    // idx_events_owner_time and the participant branch from idx_event_participants_user.
+    default List<EventDto> findEventDtosByUserAndDateRange(Long userId, LocalDateTime startDate,
+                                                           LocalDateTime endDate) {
+        Map<Long, EventDto> events = new HashMap<>();
+        for (EventDto event : findOwnedEventDtosInRange(userId, startDate, endDate)) {
+            events.put(event.getId(), event);
+        }
+        for (EventDto event : findParticipatingEventDtosInRange(userId, startDate, endDate)) {
+            events.putIfAbsent(event.getId(), event);
+        }
+        List<EventDto> result = new ArrayList<>(events.values());
+        result.sort(Comparator.comparing(EventDto::getStartTime).thenComparing(EventDto::getId));
+        return result;
+    }
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE o.id = :userId AND e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true)")
+    List<EventDto> findOwnedEventDtosInRange(@Param("userId") Long userId,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM User u JOIN u.participatingEvents e JOIN e.owner o " +
+           "WHERE u.id = :userId AND e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true)")
+    List<EventDto> findParticipatingEventDtosInRange(@Param("userId") Long userId,
+                                                     @Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+    
+    // Keyset pagination over (startTime, id); pass PageRequest.of(0, n) to bound the page
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE o.id = :userId OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u.id = :userId) " +
+           "ORDER BY e.startTime ASC, e.id ASC")
+    List<EventDto> findEventDtosByUserInvolvedFirstPage(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE (o.id = :userId OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u.id = :userId)) " +
+           "AND (e.startTime > :afterStart OR (e.startTime = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.startTime ASC, e.id ASC")
+    List<EventDto> findEventDtosByUserInvolvedAfter(@Param("userId") Long userId,
+                                                    @Param("afterStart") LocalDateTime afterStart,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+    
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o WHERE e.id IN :eventIds")
+    List<EventDto> findEventDtosByIdIn(@Param("eventIds") Collection<Long> eventIds);
+    
+    // All events in id order, a page at a time, for rebuilding in-memory indexes
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<EventDto> findEventDtosAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Delta sync: the user's events written after the given change number
+    @Query("SELECT new com.calendar.dto.EventDto(e.id, e.title, e.description, e.startTime, e.endTime, e.location, " +
+           "e.eventType, e.status, e.isAllDay, e.isRecurring, e.recurrencePattern, o.id, o.username) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE e.changeSeq > :since " +
+           "AND (o.id = :userId OR e.id IN (SELECT pe.id FROM User u JOIN u.participatingEvents pe WHERE u.id = :userId)) " +
+           "ORDER BY e.startTime ASC")
+    List<EventDto> findEventDtosByUserChangedSince(@Param("userId") Long userId, @Param("since") Long since);
+    
+    @Query("SELECT MAX(e.changeSeq) FROM Event e")
+    Long findMaxChangeSeq();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.calendar.dto.ParticipantSummary(e.id, p.id, p.username, p.email, p.firstName, p.lastName) " +
+           "FROM Event e JOIN e.participants p WHERE e.id IN :eventIds")
+    List<ParticipantSummary> findParticipantSummariesByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
+    @Query("SELECT p.id FROM Event e JOIN e.participants p WHERE e.id = :eventId")
+    List<Long> findParticipantIdsByEventId(@Param("eventId") Long eventId);
+    
+    // Participant changes written straight to the join table, without loading either side's
+    // collection. The native spaces hint keeps Hibernate from clearing every cache region: only
+    // the participant collections and cached queries that read event_participants are dropped.
+    // Unknown users and existing participants are skipped.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_participants"))
+    @Query(value = "INSERT INTO event_participants (event_id, user_id) " +
+                   "SELECT :eventId, u.id FROM users u WHERE u.id IN :userIds " +
+                   "AND u.id NOT IN (SELECT p.user_id FROM event_participants p WHERE p.event_id = :eventId)",
+           nativeQuery = true)
+    int insertParticipants(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_participants"))
+    @Query(value = "DELETE FROM event_participants WHERE event_id = :eventId AND user_id IN :userIds",
+           nativeQuery = true)
+    int deleteParticipants(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @EntityGraph(Event.GRAPH_OWNER_AND_PARTICIPANTS)
+    @Query("SELECT e FROM Event e WHERE e.id IN :eventIds")
+    List<Event> findByIdIn(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Free/busy rows for many users at once, one query per side of the ownership relation
+    @Query("SELECT new com.calendar.dto.BusyRow(o.id, e.startTime, e.endTime, e.isRecurring, e.recurrencePattern) " +
+           "FROM Event e JOIN e.owner o " +
+           "WHERE o.id IN :userIds AND e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true) " +
+           "AND (e.status IS NULL OR e.status <> com.calendar.model.Event$EventStatus.CANCELLED)")
+    List<BusyRow> findOwnerBusyRows(@Param("userIds") Collection<Long> userIds,
+                                    @Param("startDate") LocalDateTime startDate,
+                                    @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT new com.calendar.dto.BusyRow(p.id, e.startTime, e.endTime, e.isRecurring, e.recurrencePattern) " +
+           "FROM Event e JOIN e.participants p " +
+           "WHERE p.id IN :userIds AND e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true) " +
+           "AND (e.status IS NULL OR e.status <> com.calendar.model.Event$EventStatus.CANCELLED)")
+    List<BusyRow> findParticipantBusyRows(@Param("userIds") Collection<Long> userIds,
+                                          @Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
+    
+    // Events overlapping the window for any of the users, owned or joined, in a single query.
+    // The join condition keeps only participant rows for the checked users.
+    @Query("SELECT new com.calendar.dto.ConflictRow(e.id, e.title, e.startTime, e.endTime, e.isRecurring, " +
+           "e.recurrencePattern, o.id, p.id) " +
+           "FROM Event e JOIN e.owner o LEFT JOIN e.participants p ON p.id IN :userIds " +
+           "WHERE (o.id IN :userIds OR p.id IS NOT NULL) AND e.id <> :excludeId " +
+           "AND e.startTime < :endDate AND (e.endTime > :startDate OR e.isRecurring = true) " +
+           "AND (e.status IS NULL OR e.status <> com.calendar.model.Event$EventStatus.CANCELLED)")
+    List<ConflictRow> findConflictRows(@Param("userIds") Collection<Long> userIds,
+                                       @Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate,
+                                       @Param("excludeId") Long excludeId);
+    
+    // Fills participantIds/participants of projected events with one query per 1000 events
+    default List<EventDto> attachParticipants(List<EventDto> events) {
+        Map<Long, EventDto> byId = new HashMap<>();
+        for (EventDto event : events) {
+            event.setParticipantIds(new ArrayList<>());
+            event.setParticipants(new ArrayList<>());
+            byId.put(event.getId(), event);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += 1000) {
+            List<Long> batch = ids.subList(from, Math.min(from + 1000, ids.size()));
+            for (ParticipantSummary participant : findParticipantSummariesByEventIds(batch)) {
+                EventDto event = byId.get(participant.getEventId());
+                event.getParticipantIds().add(participant.getUser().getId());
+                event.getParticipants().add(participant.getUser());
+            }
+        }
+        return events;
+    }
 }
@@ -0,0 +1,28 @@
+package com.calendar.repository;
+
+import com.calendar.model.EventTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, Long> {
+    
+    @Query("SELECT DISTINCT t.eventId FROM EventTombstone t WHERE t.userId = :userId AND t.changeSeq > :since")
+    List<Long> findEventIdsByUserChangedSince(@Param("userId") Long userId, @Param("since") Long since);
+    
+    @Query("SELECT MAX(t.changeSeq) FROM EventTombstone t")
+    Long findMaxChangeSeq();
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventTombstone t WHERE t.removedAt < :removedBefore AND t.changeSeq < :changeSeqBelow")
+    int deleteByRemovedAtBeforeAndChangeSeqBelow(@Param("removedBefore") LocalDateTime removedBefore,
+                                                 @Param("changeSeqBelow") Long changeSeqBelow);
+}
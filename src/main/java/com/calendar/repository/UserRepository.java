@@ -1,6 +1,8 @@
 package com.calendar.repository;
 
+import com.calendar.dto.UserDto;
 import com.calendar.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,4 +27,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.id IN :userIds")
     List<User> findByIdIn(@Param("userIds") List<Long> userIds);
+    
+    // Read-only projections for the user endpoints
+    @Query("SELECT new com.calendar.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName) FROM User u")
+    List<UserDto> findAllDtos();
+    
+    @Query("SELECT new com.calendar.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName) FROM User u " +
+           "WHERE u.username LIKE %:searchTerm% OR u.email LIKE %:searchTerm% OR u.firstName LIKE %:searchTerm% OR u.lastName LIKE %:searchTerm%")
+    List<UserDto> findDtosBySearchTerm(@Param("searchTerm") String searchTerm);
+    
+    // Keyset pagination; username is unique so it is a complete sort key on its own
+    @Query("SELECT new com.calendar.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName) FROM User u ORDER BY u.username ASC")
+    List<UserDto> findDtosOrderByUsername(Pageable pageable);
+    
+    @Query("SELECT new com.calendar.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName) FROM User u " +
+           "WHERE u.username > :username ORDER BY u.username ASC")
+    List<UserDto> findDtosAfterUsername(@Param("username") String username, Pageable pageable);
 }
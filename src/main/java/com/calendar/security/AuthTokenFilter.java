@@ -1,5 +1,6 @@
 package com.calendar.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,17 +25,26 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    // claims: principal built from the token; cache: TTL cache in front of the user query;
+    // database: user query on every request
+    @Value("${calendar.auth.principal-source:claims}")
+    private String principalSource;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final String NOTIFICATIONS_PATH = "/api/events/notifications";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+            if (claims != null) {
+                UserDetails userDetails = resolvePrincipal(claims);
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -47,6 +58,30 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        switch (principalSource) {
+            case "claims":
+                UserPrincipal principal = UserPrincipal.fromClaims(claims);
+                if (principal != null) {
+                    return principal;
+                }
+                // Tokens issued before the user id claim existed go through the cache
+                return userPrincipalCache.get(username, userDetailsService::loadUserByUsername);
+            case "cache":
+                return userPrincipalCache.get(username, userDetailsService::loadUserByUsername);
+            default:
+                return userDetailsService.loadUserByUsername(username);
+        }
+    }
+
+    // Completing a notification stream or streamed export dispatches the request again, and
+    // that dispatch must be authenticated as well
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -54,6 +89,21 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             return headerAuth.substring(7);
         }
 
+        // Browsers cannot set headers on EventSource connections, so the notification stream
+        // takes the token from the access_token query parameter. Query strings end up in access
+        // logs and browser history, so no other endpoint accepts it.
+        if (isNotificationStream(request)) {
+            String token = request.getParameter("access_token");
+            if (StringUtils.hasText(token)) {
+                return token;
+            }
+        }
+
         return null;
     }
+
+    private static boolean isNotificationStream(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "GET".equals(request.getMethod()) && NOTIFICATIONS_PATH.equals(path);
+    }
 }
@@ -1,51 +1,139 @@
 package com.calendar.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_FIRST_NAME = "firstName";
+    public static final String CLAIM_LAST_NAME = "lastName";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Key key;
+
+    private JwtParser parser;
+
+    // Tokens whose signature has already been verified, keyed by SHA-256 of the token. Each
+    // entry expires with its token's exp claim; beyond max-size Caffeine evicts the least used.
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    // Token checks by outcome: answered from the cache, signature verified, or rejected
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        cachedTimer = validationTimer("cached");
+        verifiedTimer = validationTimer("verified");
+        rejectedTimer = validationTimer("rejected");
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    private Timer validationTimer(String outcome) {
+        return Timer.builder("calendar.jwt.validation")
+                .description("JWT validation time")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_FIRST_NAME, userPrincipal.getFirstName())
+                .claim(CLAIM_LAST_NAME, userPrincipal.getLastName())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS512)
+                .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        Claims claims = getValidatedClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims.getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+
+    /**
+     * Returns the claims of a valid token, or null if the token is invalid or expired.
+     * Repeated calls with the same token skip signature verification until it expires.
+     */
+    public Claims getValidatedClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        long started = System.nanoTime();
+        String cacheKey = hash(authToken);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached.claims;
+        }
+
+        Claims claims = verify(authToken);
+        if (claims != null && claims.getExpiration() != null) {
+            verifiedTokens.put(cacheKey, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        (claims != null ? verifiedTimer : rejectedTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private Claims verify(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return parser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -54,8 +142,47 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        return false;
+    // Entries live until their token's expiry time; reads and replacements do not extend them
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String cacheKey, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String cacheKey, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(cacheKey, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String cacheKey, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+        private static final class VerifiedToken {
+        final Claims claims;
+        final long expiresAt;
+
+        VerifiedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.calendar.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records how long hashing and checking passwords take. BCrypt is deliberately slow and
+ * dominates sign-in and sign-up latency, so it is timed apart from the rest of the request.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer("encode", meterRegistry);
+        this.matchesTimer = timer("matches", meterRegistry);
+    }
+
+    private static Timer timer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("calendar.password.hashing")
+                .description("Password hashing time")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -2,6 +2,7 @@ package com.calendar.security;
 
 import com.calendar.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -44,6 +45,26 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    /**
+     * Builds the principal from the claims written by JwtUtils.generateJwtToken, or returns
+     * null for tokens issued before the user id was included.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        Long id = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        if (id == null) {
+            return null;
+        }
+        return new UserPrincipal(
+                id,
+                claims.getSubject(),
+                claims.get(JwtUtils.CLAIM_EMAIL, String.class),
+                null,
+                claims.get(JwtUtils.CLAIM_FIRST_NAME, String.class),
+                claims.get(JwtUtils.CLAIM_LAST_NAME, String.class),
+                Collections.emptyList()
+        );
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,69 @@
+package com.calendar.security;
+
+import com.calendar.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size-bounded TTL cache of principals for authenticating requests without a user query.
+ * {@link UserPrincipalCacheListener} drops entries as soon as the user row changes.
+ */
+@Component
+public class UserPrincipalCache {
+
+    @Value("${calendar.auth.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${calendar.auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private Cache<String, UserPrincipal> principals;
+
+    // Username each cached user id is held under, so a renamed user's old entry can be found
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // The eviction listener runs atomically with the removal, so it cannot drop the id of
+        // an entry that is being loaded again
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String username, UserPrincipal principal, RemovalCause cause) ->
+                        usernames.remove(principal.getId(), username))
+                .build();
+    }
+
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        return principals.get(username, name -> {
+            UserPrincipal principal = loader.apply(name);
+            usernames.put(principal.getId(), name);
+            return principal;
+        });
+    }
+
+    public void invalidate(String username) {
+        UserPrincipal removed = principals.asMap().remove(username);
+        if (removed != null) {
+            usernames.remove(removed.getId(), username);
+        }
+    }
+
+    public void onUserChanged(User user) {
+        // Look up the id as well in case the username itself was changed
+        String previous = usernames.get(user.getId());
+        if (previous != null) {
+            invalidate(previous);
+        }
+        invalidate(user.getUsername());
+    }
+}
@@ -0,0 +1,22 @@
+package com.calendar.security;
+
+import com.calendar.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener on {@link User}. Hibernate creates it through Spring's bean container,
+ * so the shared {@link UserPrincipalCache} is injected.
+ */
+public class UserPrincipalCacheListener {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userPrincipalCache.onUserChanged(user);
+    }
+}
@@ -0,0 +1,325 @@
+package com.calendar.service;
+
+import com.calendar.dto.CacheRegionStats;
+import com.calendar.dto.EventDto;
+import com.calendar.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-user cache of calendar reads. A user's agenda holds month buckets with the events that
+ * overlap each month, recurring series from their first month on, and the full timeline once
+ * it has been read. Range queries are answered from the buckets they touch; missing months
+ * are loaded together with one query.
+ *
+ * After each commit the owner's and participants' agendas, before and after the change, drop
+ * the months the event overlapped before or overlaps now, and their full timeline. Cached events
+ * are copied on the way out, so callers can modify what they get. Agendas are weighed by an estimate of their size in memory and evicted
+ * by Caffeine's W-TinyLFU policy, which keeps the calendars that are read most often.
+ */
+@Component
+public class AgendaCache {
+
+    // Rough heap cost of an EventDto and of each participant attached to it, excluding text
+    private static final int EVENT_BYTES = 256;
+    private static final int PARTICIPANT_BYTES = 160;
+    private static final int BUCKET_BYTES = 64;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Value("${calendar.agenda.enabled:true}")
+    private boolean enabled;
+
+    @Value("${calendar.agenda.max-weight:64MB}")
+    private DataSize maxWeight;
+
+    @Value("${calendar.agenda.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${calendar.agenda.max-months:3}")
+    private int maxMonths;
+
+    private Cache<Long, Agenda> agendas;
+
+    // Bumped on every applied change so a load racing with a write does not install stale data
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        // Participants' names are copied into the cached events, so agendas also expire
+        agendas = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((Long userId, Agenda agenda) -> agenda.weight)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Answers from the cached timeline only, returning null when it has not been read yet
+    public List<EventDto> findAll(Long userId) {
+        Agenda agenda = agendas.getIfPresent(userId);
+        if (agenda == null || agenda.all == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(agenda.all);
+    }
+
+    /**
+     * Returns every event of the user in start-time order, reading and caching the timeline.
+     * The caller must already have checked that the user exists.
+     */
+    public List<EventDto> loadAll(Long userId) {
+        long loadedAt = generation.get();
+        List<EventDto> events = eventRepository.attachParticipants(
+                eventRepository.findEventDtosByUserInvolvedOrderByStartTime(userId));
+        install(userId, loadedAt, agenda -> agenda.withAll(events));
+        return copy(events);
+    }
+
+    /**
+     * Answers from cached month buckets only. Returns null when a month of the range is not
+     * cached or the range is too long to be cached at all.
+     */
+    public List<EventDto> findInRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<YearMonth> months = months(startDate, endDate);
+        if (months == null) {
+            return null;
+        }
+        Agenda agenda = agendas.getIfPresent(userId);
+        if (agenda == null || !agenda.months.keySet().containsAll(months)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return select(agenda.months, months, startDate, endDate);
+    }
+
+    /**
+     * Events of the user overlapping [startDate, endDate) in start-time order, recurring series
+     * unexpanded, loading the months that are not cached. Returns null when the range is too
+     * long to be cached. The caller must already have checked that the user exists.
+     */
+    public List<EventDto> loadAndFindInRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<YearMonth> months = months(startDate, endDate);
+        if (months == null) {
+            return null;
+        }
+        Agenda agenda = agendas.getIfPresent(userId);
+        Map<YearMonth, List<EventDto>> buckets = new HashMap<>(agenda != null ? agenda.months : Collections.emptyMap());
+
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            if (!buckets.containsKey(month)) {
+                missing.add(month);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadedAt = generation.get();
+            Map<YearMonth, List<EventDto>> loaded = load(userId, missing.get(0), missing.get(missing.size() - 1));
+            buckets.putAll(loaded);
+            install(userId, loadedAt, current -> current.withMonths(loaded));
+        }
+        return select(buckets, months, startDate, endDate);
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        List<EventChange.Span> spans = new ArrayList<>(2);
+        if (change.getPreviousSpan() != null) {
+            spans.add(change.getPreviousSpan());
+        }
+        if (change.getCurrentSpan() != null) {
+            spans.add(change.getCurrentSpan());
+        }
+        for (Long userId : change.getAffectedUserIds()) {
+            agendas.asMap().computeIfPresent(userId, (id, agenda) -> agenda.without(spans));
+        }
+    }
+
+    public CacheRegionStats getStats() {
+        return new CacheRegionStats("agenda", hits.sum(), misses.sum(), puts.sum());
+    }
+
+    // Months touched by [startDate, endDate), or null when there are more than max-months
+    private List<YearMonth> months(LocalDateTime startDate, LocalDateTime endDate) {
+        if (!startDate.isBefore(endDate)) {
+            return null;
+        }
+        YearMonth first = YearMonth.from(startDate);
+        YearMonth last = YearMonth.from(endDate.minusNanos(1));
+        if (ChronoUnit.MONTHS.between(first, last) >= maxMonths) {
+            return null;
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    // Reads first..last with one query and splits the rows into a bucket per month
+    private Map<YearMonth, List<EventDto>> load(Long userId, YearMonth first, YearMonth last) {
+        List<EventDto> events = eventRepository.attachParticipants(eventRepository.findEventDtosByUserAndDateRange(
+                userId, first.atDay(1).atStartOfDay(), last.plusMonths(1).atDay(1).atStartOfDay()));
+
+        Map<YearMonth, List<EventDto>> buckets = new LinkedHashMap<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            List<EventDto> bucket = new ArrayList<>();
+            for (EventDto event : events) {
+                if (event.getStartTime().isBefore(monthEnd)
+                        && (event.isRecurring() || event.getEndTime().isAfter(monthStart))) {
+                    bucket.add(event);
+                }
+            }
+            buckets.put(month, Collections.unmodifiableList(bucket));
+        }
+        return buckets;
+    }
+
+    private List<EventDto> select(Map<YearMonth, List<EventDto>> buckets, List<YearMonth> months,
+                                  LocalDateTime startDate, LocalDateTime endDate) {
+        // Events spanning several months sit in each of their buckets
+        Map<Long, EventDto> selected = new LinkedHashMap<>();
+        for (YearMonth month : months) {
+            for (EventDto event : buckets.get(month)) {
+                if (event.getStartTime().isBefore(endDate)
+                        && (event.isRecurring() || event.getEndTime().isAfter(startDate))) {
+                    selected.putIfAbsent(event.getId(), event);
+                }
+            }
+        }
+        List<EventDto> events = copy(selected.values());
+        events.sort(Comparator.comparing(EventDto::getStartTime));
+        return events;
+    }
+
+    private static List<EventDto> copy(Collection<EventDto> events) {
+        List<EventDto> copies = new ArrayList<>(events.size());
+        for (EventDto event : events) {
+            copies.add(new EventDto(event));
+        }
+        return copies;
+    }
+
+    private void install(Long userId, long loadedAt, UnaryOperator<Agenda> update) {
+        agendas.asMap().compute(userId, (id, current) -> {
+            if (generation.get() != loadedAt) {
+                return current;
+            }
+            puts.increment();
+            return update.apply(current != null ? current : Agenda.EMPTY);
+        });
+    }
+
+    private static int weigh(EventDto event) {
+        long weight = EVENT_BYTES + 2L * (length(event.getTitle()) + length(event.getDescription())
+                + length(event.getLocation()) + length(event.getRecurrencePattern()));
+        if (event.getParticipants() != null) {
+            weight += (long) PARTICIPANT_BYTES * event.getParticipants().size();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static final class Agenda {
+        static final Agenda EMPTY = new Agenda(Collections.emptyMap(), null);
+
+        final Map<YearMonth, List<EventDto>> months;
+        final List<EventDto> all;
+        final int weight;
+
+        Agenda(Map<YearMonth, List<EventDto>> months, List<EventDto> all) {
+            this.months = months;
+            this.all = all;
+            this.weight = weigh(months, all);
+        }
+
+        Agenda withMonths(Map<YearMonth, List<EventDto>> loaded) {
+            Map<YearMonth, List<EventDto>> merged = new HashMap<>(months);
+            merged.putAll(loaded);
+            return new Agenda(Collections.unmodifiableMap(merged), all);
+        }
+
+        Agenda withAll(List<EventDto> events) {
+            return new Agenda(months, Collections.unmodifiableList(new ArrayList<>(events)));
+        }
+
+        // Drops the months overlapping any of the spans and the timeline; null when nothing is left
+        Agenda without(List<EventChange.Span> spans) {
+            Map<YearMonth, List<EventDto>> kept = new HashMap<>();
+            for (Map.Entry<YearMonth, List<EventDto>> bucket : months.entrySet()) {
+                LocalDateTime monthStart = bucket.getKey().atDay(1).atStartOfDay();
+                LocalDateTime monthEnd = bucket.getKey().plusMonths(1).atDay(1).atStartOfDay();
+                if (spans.stream().noneMatch(span -> span.overlaps(monthStart, monthEnd))) {
+                    kept.put(bucket.getKey(), bucket.getValue());
+                }
+            }
+            return kept.isEmpty() ? null : new Agenda(Collections.unmodifiableMap(kept), null);
+        }
+
+        // Months loaded together share event instances, so each one is counted once
+        private static int weigh(Map<YearMonth, List<EventDto>> months, List<EventDto> all) {
+            Set<EventDto> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            long weight = (long) BUCKET_BYTES * months.size();
+            for (List<EventDto> bucket : months.values()) {
+                weight += 8L * bucket.size();
+                for (EventDto event : bucket) {
+                    if (seen.add(event)) {
+                        weight += AgendaCache.weigh(event);
+                    }
+                }
+            }
+            if (all != null) {
+                for (EventDto event : all) {
+                    if (seen.add(event)) {
+                        weight += AgendaCache.weigh(event);
+                    }
+                }
+            }
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+    }
+}
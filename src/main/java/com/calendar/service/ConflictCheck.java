@@ -0,0 +1,10 @@
+package com.calendar.service;
+
+/**
+ * How event writes treat overlaps with existing events of the owner and participants.
+ */
+public enum ConflictCheck {
+    NONE,
+    REPORT,
+    REJECT
+}
@@ -0,0 +1,109 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by {@link EventService} whenever an event is written. Listeners that keep
+ * in-memory views of the calendar subscribe to it after the transaction commits.
+ */
+public class EventChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long eventId;
+    private final EventDto event;
+    private final Span previousSpan;
+    private final Set<Long> previousUserIds;
+    private final Set<Long> currentUserIds;
+
+    public EventChange(Type type, Long eventId, EventDto event, Span previousSpan,
+                       Set<Long> previousUserIds, Set<Long> currentUserIds) {
+        this.type = type;
+        this.eventId = eventId;
+        this.event = event;
+        this.previousSpan = previousSpan;
+        this.previousUserIds = Collections.unmodifiableSet(previousUserIds);
+        this.currentUserIds = Collections.unmodifiableSet(currentUserIds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    // State of the event after the change, null when it was deleted
+    public EventDto getEvent() {
+        return event;
+    }
+
+    // Time span of the event before the change, null when it was created
+    public Span getPreviousSpan() {
+        return previousSpan;
+    }
+
+    // Time span of the event after the change, null when it was deleted
+    public Span getCurrentSpan() {
+        return event != null ? new Span(event.getStartTime(), event.getEndTime(), event.isRecurring()) : null;
+    }
+
+    // Owner and participants before the change
+    public Set<Long> getPreviousUserIds() {
+        return previousUserIds;
+    }
+
+    // Owner and participants after the change
+    public Set<Long> getCurrentUserIds() {
+        return currentUserIds;
+    }
+
+    public Set<Long> getAffectedUserIds() {
+        Set<Long> affected = new LinkedHashSet<>(previousUserIds);
+        affected.addAll(currentUserIds);
+        return affected;
+    }
+
+    /**
+     * Start and end of an event. A recurring event's span starts with its first occurrence and
+     * has no end.
+     */
+    public static class Span {
+
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final boolean recurring;
+
+        public Span(LocalDateTime startTime, LocalDateTime endTime, boolean recurring) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.recurring = recurring;
+        }
+
+        // Whether the span overlaps [startDate, endDate), using the same test as the range queries
+        public boolean overlaps(LocalDateTime startDate, LocalDateTime endDate) {
+            return startTime.isBefore(endDate) && (recurring || endTime.isAfter(startDate));
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public boolean isRecurring() {
+            return recurring;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.calendar.service;
+
+import com.calendar.repository.EventRepository;
+import com.calendar.repository.EventTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out increasing change numbers for event writes and tombstones, and tells delta sync
+ * how far it can safely read. Numbers are assigned before commit, so a write with a lower
+ * number can become visible after one with a higher number; the watermark therefore stops
+ * just below the oldest write still in flight.
+ *
+ * The sequence and the writes in flight are held in this process, so all writes must go
+ * through a single application instance. Running several instances against one database
+ * would hand out the same numbers twice and let delta sync skip changes.
+ *
+ * Sync tokens older than calendar.sync.token-ttl are answered with a full sync, so tombstones
+ * can be pruned once no accepted token can still need them. The newest tombstone is always
+ * kept, because the sequence resumes from the highest stored number after a restart.
+ */
+@Component
+public class EventChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(EventChangeLog.class);
+
+    // Tombstones are stamped before commit, so they can be slightly older than a token that
+    // must still see them
+    private static final Duration PRUNE_MARGIN = Duration.ofHours(1);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+
+    @Value("${calendar.sync.token-ttl:30d}")
+    private Duration tokenTtl;
+
+    @Value("${calendar.sync.prune-interval:1h}")
+    private Duration pruneInterval;
+
+    private long sequence;
+
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    private ScheduledExecutorService pruner;
+
+    @PostConstruct
+    void init() {
+        Long events = eventRepository.findMaxChangeSeq();
+        Long tombstones = eventTombstoneRepository.findMaxChangeSeq();
+        sequence = Math.max(events != null ? events : 0, tombstones != null ? tombstones : 0);
+
+        pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-tombstone-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pruner.scheduleWithFixedDelay(this::pruneQuietly,
+                pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    /**
+     * Next change number. It counts as in flight until the surrounding transaction completes.
+     */
+    public long next() {
+        long changeSeq;
+        synchronized (this) {
+            changeSeq = ++sequence;
+            inFlight.add(changeSeq);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(changeSeq);
+            }
+        });
+        return changeSeq;
+    }
+
+    /**
+     * Highest change number at or below which every write has committed or rolled back.
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? sequence : inFlight.first() - 1;
+    }
+
+    // Whether a token issued at that time may have missed pruned tombstones
+    public boolean isExpired(Instant tokenIssuedAt) {
+        return tokenIssuedAt.isBefore(Instant.now().minus(tokenTtl));
+    }
+
+    /**
+     * Deletes tombstones no unexpired token can need, except the newest one. Returns how many
+     * were deleted.
+     */
+    public int pruneTombstones() {
+        Long newest = eventTombstoneRepository.findMaxChangeSeq();
+        if (newest == null) {
+            return 0;
+        }
+        LocalDateTime removedBefore = LocalDateTime.now().minus(tokenTtl).minus(PRUNE_MARGIN);
+        return eventTombstoneRepository.deleteByRemovedAtBeforeAndChangeSeqBelow(removedBefore, newest);
+    }
+
+    private void pruneQuietly() {
+        try {
+            int pruned = pruneTombstones();
+            if (pruned > 0) {
+                logger.info("Pruned {} event tombstones", pruned);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Pruning event tombstones failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventConflict;
+
+import java.util.List;
+
+public class EventConflictException extends RuntimeException {
+    private final List<EventConflict> conflicts;
+
+    public EventConflictException(List<EventConflict> conflicts) {
+        super("Event conflicts with " + conflicts.size() + " existing event(s)");
+        this.conflicts = conflicts;
+    }
+
+    public List<EventConflict> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,132 @@
+package com.calendar.service;
+
+import com.calendar.dto.ConflictRow;
+import com.calendar.dto.EventConflict;
+import com.calendar.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds existing events that overlap an event about to be written, for its owner and all of
+ * its participants at once. Recurring events on either side are compared occurrence by
+ * occurrence; a recurring event being written is checked up to calendar.conflicts.horizon
+ * past its first occurrence.
+ *
+ * Conflicts are reported to the user writing the event, so events that user neither owns nor
+ * takes part in are reported as busy time only, without their id or title.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventConflictService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Value("${calendar.conflicts.horizon:366d}")
+    private Duration horizon;
+
+    public List<EventConflict> findConflicts(Long viewerId, Long excludeEventId, Collection<Long> userIds,
+                                             LocalDateTime start, LocalDateTime end,
+                                             boolean recurring, String recurrencePattern) {
+        Duration duration = Duration.between(start, end);
+        if (userIds.isEmpty() || duration.isNegative() || duration.isZero()) {
+            return new ArrayList<>();
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        RecurrenceRule rule = recurrenceService.getRule(recurring, recurrencePattern);
+        recurrenceService.forEachOccurrence(rule, start, end, start, start.plus(horizon),
+                (occurrenceStart, occurrenceEnd) -> starts.add(occurrenceStart));
+        if (starts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDateTime from = starts.get(0);
+        LocalDateTime to = starts.get(starts.size() - 1).plus(duration);
+
+        List<ConflictRow> rows = eventRepository.findConflictRows(userIds, from, to,
+                excludeEventId == null ? -1L : excludeEventId);
+
+        Set<Long> visibleEvents = new HashSet<>();
+        for (ConflictRow row : rows) {
+            if (viewerId.equals(row.getOwnerId()) || viewerId.equals(row.getParticipantId())) {
+                visibleEvents.add(row.getEventId());
+            }
+        }
+
+        Set<Long> checkedUsers = new HashSet<>(userIds);
+        Set<String> reported = new HashSet<>();
+        List<EventConflict> conflicts = new ArrayList<>();
+        for (ConflictRow row : rows) {
+            LocalDateTime[] overlap = firstOverlap(row, starts, duration, from, to);
+            if (overlap == null) {
+                continue;
+            }
+            boolean visible = visibleEvents.contains(row.getEventId());
+            if (checkedUsers.contains(row.getOwnerId())) {
+                report(row, row.getOwnerId(), overlap, visible, reported, conflicts);
+            }
+            if (row.getParticipantId() != null) {
+                report(row, row.getParticipantId(), overlap, visible, reported, conflicts);
+            }
+        }
+        conflicts.sort(Comparator.comparing(EventConflict::getStartTime).thenComparing(EventConflict::getUserId));
+        return conflicts;
+    }
+
+    private void report(ConflictRow row, Long userId, LocalDateTime[] overlap, boolean visible,
+                        Set<String> reported, List<EventConflict> conflicts) {
+        if (!reported.add(userId + ":" + row.getEventId())) {
+            return;
+        }
+        if (visible) {
+            conflicts.add(new EventConflict(userId, row.getEventId(), row.getTitle(), overlap[0], overlap[1]));
+        } else {
+            conflicts.add(new EventConflict(userId, null, null, overlap[0], overlap[1]));
+        }
+    }
+
+    private LocalDateTime[] firstOverlap(ConflictRow row, List<LocalDateTime> starts, Duration duration,
+                                         LocalDateTime from, LocalDateTime to) {
+        LocalDateTime[] overlap = new LocalDateTime[2];
+        RecurrenceRule rule = recurrenceService.getRule(row.isRecurring(), row.getRecurrencePattern());
+        recurrenceService.forEachOccurrence(rule, row.getStartTime(), row.getEndTime(), from, to, (s, e) -> {
+            if (overlap[0] == null && overlapsAny(starts, duration, s, e)) {
+                overlap[0] = s;
+                overlap[1] = e;
+            }
+        });
+        return overlap[0] == null ? null : overlap;
+    }
+
+    // Occurrences share one duration, so their ends are sorted too: the first one ending after
+    // start is the only candidate that can overlap [start, end)
+    private static boolean overlapsAny(List<LocalDateTime> starts, Duration duration,
+                                       LocalDateTime start, LocalDateTime end) {
+        LocalDateTime earliest = start.minus(duration);
+        int lo = 0;
+        int hi = starts.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts.get(mid).isAfter(earliest)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo < starts.size() && starts.get(lo).isBefore(end);
+    }
+}
@@ -0,0 +1,225 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import com.calendar.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional in-memory index of each user's events, answering date-range queries without
+ * going to the database. A user's timeline is loaded from {@link EventRepository} on first
+ * use and then patched from {@link EventChange}s after each commit. At most max-users
+ * timelines are kept; Caffeine evicts the ones read least often.
+ */
+@Component
+public class EventIntervalIndex {
+
+    private static final Comparator<Entry> BY_START = Comparator
+            .comparingLong((Entry e) -> e.start)
+            .thenComparing(e -> e.event.getId());
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Value("${calendar.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${calendar.index.max-users:10000}")
+    private int maxUsers;
+
+    // Must be a power of two
+    private static final int GENERATION_STRIPES = 1024;
+
+    private Cache<Long, UserTimeline> timelines;
+
+    // Bumped for the users of every applied change so a load racing with a write to the same
+    // user does not install stale data. Striped by user id to stay bounded; a collision only
+    // discards a load that could have been kept.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    public void init() {
+        timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the user's events overlapping [startDate, endDate), ordered by start time.
+     * The caller must already have checked that the user exists.
+     */
+    public List<EventDto> loadAndFindOverlapping(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return timeline(userId).overlapping(toEpoch(startDate), toEpoch(endDate));
+    }
+
+    // Answers from an already loaded timeline only, returning null when the user is not indexed yet
+    public List<EventDto> findOverlapping(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        UserTimeline timeline = timelines.getIfPresent(userId);
+        return timeline != null ? timeline.overlapping(toEpoch(startDate), toEpoch(endDate)) : null;
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = change.getEvent() != null ? entry(change.getEvent()) : null;
+        for (Long userId : change.getAffectedUserIds()) {
+            generations.incrementAndGet(stripe(userId));
+            boolean involved = entry != null && change.getCurrentUserIds().contains(userId);
+            timelines.asMap().computeIfPresent(userId, (id, timeline) ->
+                    timeline.without(change.getEventId()).with(involved ? entry : null));
+        }
+    }
+
+    private UserTimeline timeline(Long userId) {
+        UserTimeline timeline = timelines.getIfPresent(userId);
+        if (timeline != null) {
+            return timeline;
+        }
+
+        int stripe = stripe(userId);
+        long loadedAt = generations.get(stripe);
+        List<Entry> entries = new ArrayList<>();
+        for (EventDto event : eventRepository.attachParticipants(
+                eventRepository.findEventDtosByUserInvolvedOrderByStartTime(userId))) {
+            entries.add(entry(event));
+        }
+        UserTimeline loaded = UserTimeline.of(entries);
+
+        // A change applied after the check patches the installed timeline under the same lock
+        timelines.asMap().compute(userId, (id, current) -> {
+            if (current != null || generations.get(stripe) != loadedAt) {
+                return current;
+            }
+            return loaded;
+        });
+        return loaded;
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_STRIPES - 1);
+    }
+
+    // Recurring events span their whole series so that range queries find them for expansion
+    private Entry entry(EventDto event) {
+        return new Entry(event, toEpoch(recurrenceService.seriesEnd(event)));
+    }
+
+    static long toEpoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static final class Entry {
+        final long start;
+        final long end;
+        final EventDto event;
+
+        Entry(EventDto event, long end) {
+            this.start = toEpoch(event.getStartTime());
+            this.end = end;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Immutable augmented interval tree stored implicitly over an array sorted by start time.
+     * The node for [lo, hi) sits at mid = (lo + hi) / 2 and maxEnd[mid] holds the largest end
+     * time in that subtree, so whole subtrees ending before the window are skipped.
+     */
+    static final class UserTimeline {
+        private final Entry[] entries;
+        private final long[] maxEnd;
+
+        private UserTimeline(Entry[] entries) {
+            this.entries = entries;
+            this.maxEnd = new long[entries.length];
+            build(0, entries.length);
+        }
+
+        static UserTimeline of(List<Entry> entries) {
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            Arrays.sort(sorted, BY_START);
+            return new UserTimeline(sorted);
+        }
+
+        UserTimeline with(Entry entry) {
+            if (entry == null) {
+                return this;
+            }
+            int pos = Arrays.binarySearch(entries, entry, BY_START);
+            int insertAt = pos >= 0 ? pos : -pos - 1;
+            Entry[] copy = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, copy, 0, insertAt);
+            copy[insertAt] = entry;
+            System.arraycopy(entries, insertAt, copy, insertAt + 1, entries.length - insertAt);
+            return new UserTimeline(copy);
+        }
+
+        UserTimeline without(Long eventId) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].event.getId().equals(eventId)) {
+                    Entry[] copy = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, copy, 0, i);
+                    System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+                    return new UserTimeline(copy);
+                }
+            }
+            return this;
+        }
+
+        List<EventDto> overlapping(long from, long to) {
+            List<EventDto> result = new ArrayList<>();
+            collect(0, entries.length, from, to, result);
+            return result;
+        }
+
+        private long build(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(entries[mid].end, Math.max(build(lo, mid), build(mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        private void collect(int lo, int hi, long from, long to, List<EventDto> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] <= from) {
+                return;
+            }
+            collect(lo, mid, from, to, out);
+            if (entries[mid].start >= to) {
+                return;
+            }
+            if (entries[mid].end > from) {
+                out.add(entries[mid].event);
+            }
+            collect(mid + 1, hi, from, to, out);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventNotification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event notifications of committed event changes, delivered only to the owner
+ * and participants of the changed event.
+ *
+ * Idle connections hold no thread. Each connection keeps its pending notifications keyed by
+ * event id, so repeated changes to one event collapse into one message; past
+ * calendar.push.queue-size pending events the queue is dropped and a single "resync" message
+ * tells the client to catch up through /api/events/changes. A small sender pool drains
+ * connections with work, one drain per connection at a time.
+ *
+ * Sends block on the client's socket, so one slow client could hold a sender thread and delay
+ * everyone else. A drain sends one batch and then goes to the back of the pool's queue, and a
+ * connection whose batch has been sending for longer than calendar.push.send-timeout is
+ * dropped; the client reconnects and catches up. A single write that never returns is only
+ * ended by the servlet container's connection timeout, but the connection is taken out of
+ * rotation as soon as it is seen to be stuck.
+ */
+@Service
+public class EventPushService {
+    private static final Logger logger = LoggerFactory.getLogger(EventPushService.class);
+
+    @Value("${calendar.push.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${calendar.push.queue-size:100}")
+    private int queueSize;
+
+    @Value("${calendar.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${calendar.push.heartbeat:30s}")
+    private Duration heartbeat;
+
+    @Value("${calendar.push.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${calendar.push.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+
+    private ExecutorService senders;
+
+    private ScheduledExecutorService heartbeats;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "event-push-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-push-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(1000, sendTimeout.toMillis() / 2);
+        heartbeats.scheduleAtFixedRate(this::dropStuckConnections, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        connections.values().forEach(list -> list.forEach(connection -> connection.emitter.complete()));
+    }
+
+    /**
+     * Opens a notification stream for the user. The oldest stream is closed once the user has
+     * more than calendar.push.max-connections-per-user open.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        List<Connection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, list) -> {
+            List<Connection> userConnections = list != null ? list : new CopyOnWriteArrayList<>();
+            while (userConnections.size() >= maxConnectionsPerUser) {
+                evicted.add(userConnections.remove(0));
+            }
+            userConnections.add(connection);
+            return userConnections;
+        });
+        evicted.forEach(old -> old.emitter.complete());
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        for (Long userId : change.getAffectedUserIds()) {
+            List<Connection> userConnections = connections.get(userId);
+            if (userConnections == null) {
+                continue;
+            }
+            EventNotification notification = new EventNotification(typeFor(change, userId), change.getEventId());
+            for (Connection connection : userConnections) {
+                connection.offer(notification);
+            }
+        }
+    }
+
+    // As seen by the user: gaining or losing access reads as the event appearing or disappearing
+    private static String typeFor(EventChange change, Long userId) {
+        boolean before = change.getPreviousUserIds().contains(userId);
+        boolean after = change.getCurrentUserIds().contains(userId);
+        if (!after) {
+            return EventChange.Type.DELETED.name();
+        }
+        return before ? change.getType().name() : EventChange.Type.CREATED.name();
+    }
+
+    private void sendHeartbeats() {
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                connection.heartbeat();
+            }
+        }
+    }
+
+    // Stops queueing work for connections stuck in a send; the sending thread closes them
+    private void dropStuckConnections() {
+        long now = System.nanoTime();
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                if (connection.isSendingSince(now - sendTimeout.toNanos())) {
+                    logger.warn("Dropping push connection of user {}: a send took longer than {}",
+                            connection.userId, sendTimeout);
+                    remove(connection);
+                }
+            }
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, list) -> {
+            list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private final class Connection {
+        final Long userId;
+        final SseEmitter emitter;
+
+        // Guarded by this
+        private final LinkedHashMap<Long, EventNotification> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean heartbeatDue;
+        private boolean draining;
+
+        // System.nanoTime() when the batch being sent was started, 0 when not sending
+        private volatile long sendStarted;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(EventNotification notification) {
+            synchronized (this) {
+                if (!overflowed) {
+                    EventNotification previous = pending.remove(notification.getEventId());
+                    // Created then updated is still news of a created event
+                    if (previous != null && EventChange.Type.CREATED.name().equals(previous.getType())
+                            && EventChange.Type.UPDATED.name().equals(notification.getType())) {
+                        notification = previous;
+                    }
+                    pending.put(notification.getEventId(), notification);
+                    if (pending.size() > queueSize) {
+                        pending.clear();
+                        overflowed = true;
+                    }
+                }
+                if (!startDrain()) {
+                    return;
+                }
+            }
+            senders.execute(this::drain);
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+                if (!startDrain()) {
+                    return;
+                }
+            }
+            senders.execute(this::drain);
+        }
+
+        boolean isSendingSince(long deadline) {
+            long started = sendStarted;
+            return started != 0 && started - deadline < 0;
+        }
+
+        private boolean startDrain() {
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        // Sends one batch, then requeues itself if more work arrived, so connections take turns
+        private void drain() {
+            List<EventNotification> batch;
+            boolean resync;
+            boolean ping;
+            synchronized (this) {
+                if (pending.isEmpty() && !overflowed && !heartbeatDue) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                resync = overflowed;
+                overflowed = false;
+                ping = heartbeatDue;
+                heartbeatDue = false;
+            }
+
+            long started = System.nanoTime();
+            sendStarted = started;
+            try {
+                if (resync) {
+                    emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                }
+                for (EventNotification notification : batch) {
+                    if (System.nanoTime() - started > sendTimeout.toNanos()) {
+                        throw new IOException("send timed out after " + sendTimeout);
+                    }
+                    emitter.send(SseEmitter.event().name("change").data(notification, MediaType.APPLICATION_JSON));
+                }
+                if (ping && batch.isEmpty() && !resync) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+                if (System.nanoTime() - started > sendTimeout.toNanos()) {
+                    throw new IOException("send timed out after " + sendTimeout);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping push connection of user {}: {}", userId, e.getMessage());
+                sendStarted = 0;
+                remove(this);
+                synchronized (this) {
+                    pending.clear();
+                    draining = false;
+                }
+                emitter.complete();
+                return;
+            }
+            sendStarted = 0;
+            senders.execute(this::drain);
+        }
+    }
+}
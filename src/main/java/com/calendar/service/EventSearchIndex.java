@@ -0,0 +1,280 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import com.calendar.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over event title, description and location. Every word is indexed
+ * by its one- and two-letter prefixes and by all of its trigrams, so a query word matches
+ * word prefixes when it is short and any substring of a word otherwise, like the LIKE search
+ * it replaces. Candidates from the posting lists are checked against the stored text and
+ * filtered by the caller's access before ranking.
+ *
+ * The index is built from the database once the application is ready and then kept current
+ * from {@link EventChange}s after each commit.
+ */
+@Component
+public class EventSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Value("${calendar.search.rebuild-page-size:1000}")
+    private int rebuildPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<Long>> eventsByUser = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            eventsByUser.clear();
+
+            long afterId = 0;
+            List<EventDto> page;
+            do {
+                page = eventRepository.attachParticipants(
+                        eventRepository.findEventDtosAfterId(afterId, PageRequest.of(0, rebuildPageSize)));
+                for (EventDto event : page) {
+                    Set<Long> userIds = new LinkedHashSet<>(event.getParticipantIds());
+                    userIds.add(event.getOwnerId());
+                    add(event.getId(), new Document(event, userIds));
+                    afterId = event.getId();
+                }
+            } while (page.size() == rebuildPageSize);
+            logger.info("Indexed {} events for search", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        lock.writeLock().lock();
+        try {
+            remove(change.getEventId());
+            if (change.getEvent() != null) {
+                add(change.getEventId(), new Document(change.getEvent(), change.getCurrentUserIds()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the user's events matching every word of the query, best matches first. Title
+     * matches rank above location matches, which rank above description matches.
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> visible = eventsByUser.getOrDefault(userId, Collections.emptySet());
+            List<Set<Long>> lists = new ArrayList<>();
+            lists.add(visible);
+            for (String word : words) {
+                for (String term : queryTerms(word)) {
+                    lists.add(postings.getOrDefault(term, Collections.emptySet()));
+                }
+            }
+            Set<Long> smallest = lists.get(0);
+            for (Set<Long> list : lists) {
+                if (list.size() < smallest.size()) {
+                    smallest = list;
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Long eventId : smallest) {
+                if (!containsAll(lists, eventId)) {
+                    continue;
+                }
+                int score = documents.get(eventId).score(words);
+                if (score > 0) {
+                    matches.add(new Match(eventId, score));
+                }
+            }
+            matches.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score) : Long.compare(b.eventId, a.eventId));
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                ids.add(matches.get(i).eventId);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(List<Set<Long>> lists, Long eventId) {
+        for (Set<Long> list : lists) {
+            if (!list.contains(eventId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(Long eventId, Document document) {
+        documents.put(eventId, document);
+        for (String term : document.terms()) {
+            postings.computeIfAbsent(term, t -> new HashSet<>()).add(eventId);
+        }
+        for (Long userId : document.userIds) {
+            eventsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(eventId);
+        }
+    }
+
+    private void remove(Long eventId) {
+        Document document = documents.remove(eventId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Set<Long> posting = postings.get(term);
+            if (posting != null && posting.remove(eventId) && posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        for (Long userId : document.userIds) {
+            Set<Long> events = eventsByUser.get(userId);
+            if (events != null && events.remove(eventId) && events.isEmpty()) {
+                eventsByUser.remove(userId);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // Short words can only be looked up as word prefixes; longer ones by all of their trigrams
+    private static List<String> queryTerms(String word) {
+        List<String> terms = new ArrayList<>();
+        if (word.length() < 3) {
+            terms.add("^" + word);
+        } else {
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                terms.add(word.substring(i, i + 3));
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(String word, Set<String> terms) {
+        terms.add("^" + word.substring(0, 1));
+        if (word.length() >= 2) {
+            terms.add("^" + word.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            terms.add(word.substring(i, i + 3));
+        }
+    }
+
+    private static final class Document {
+        // Normalized text: lower-case words separated by single spaces, with a leading space
+        // so that " " + word finds word prefixes
+        final String title;
+        final String location;
+        final String description;
+        final Set<Long> userIds;
+
+        Document(EventDto event, Set<Long> userIds) {
+            this.title = normalize(event.getTitle());
+            this.location = normalize(event.getLocation());
+            this.description = normalize(event.getDescription());
+            this.userIds = new HashSet<>(userIds);
+        }
+
+        private static String normalize(String text) {
+            StringBuilder normalized = new StringBuilder();
+            for (String word : tokenize(text)) {
+                normalized.append(' ').append(word);
+            }
+            return normalized.toString();
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new HashSet<>();
+            for (String text : new String[]{title, location, description}) {
+                for (String word : tokenize(text)) {
+                    addTerms(word, terms);
+                }
+            }
+            return terms;
+        }
+
+        // Zero unless every query word is found in some field
+        int score(List<String> words) {
+            int score = 0;
+            for (String word : words) {
+                String needle = word.length() < 3 ? " " + word : word;
+                int wordScore = (title.contains(needle) ? TITLE_WEIGHT : 0)
+                        + (location.contains(needle) ? LOCATION_WEIGHT : 0)
+                        + (description.contains(needle) ? DESCRIPTION_WEIGHT : 0);
+                if (wordScore == 0) {
+                    return 0;
+                }
+                score += wordScore;
+            }
+            return score;
+        }
+    }
+
+    private static final class Match {
+        final long eventId;
+        final int score;
+
+        Match(long eventId, int score) {
+            this.eventId = eventId;
+            this.score = score;
+        }
+    }
+}
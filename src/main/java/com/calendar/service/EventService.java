@@ -1,47 +1,270 @@
 package com.calendar.service;
 
+import com.calendar.dto.BatchItemResult;
+import com.calendar.dto.CursorPage;
+import com.calendar.dto.EventConflict;
+import com.calendar.dto.EventChangesResponse;
 import com.calendar.dto.EventDto;
 import com.calendar.model.Event;
+import com.calendar.model.EventTombstone;
 import com.calendar.model.User;
 import com.calendar.repository.EventRepository;
+import com.calendar.repository.EventTombstoneRepository;
 import com.calendar.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class EventService {
 
+    private static final String PARTICIPANTS_ROLE = Event.class.getName() + ".participants";
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EventIntervalIndex eventIntervalIndex;
+
+    @Autowired
+    private AgendaCache agendaCache;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private EventConflictService eventConflictService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventChangeLog eventChangeLog;
+
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${calendar.streaming.chunk-size:256}")
+    private int streamChunkSize;
+
+    @Transactional(readOnly = true)
     public List<EventDto> getAllEventsForUser(Long userId) {
+        if (agendaCache.isEnabled()) {
+            List<EventDto> cached = agendaCache.findAll(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        requireUser(userId);
+        
+        if (agendaCache.isEnabled()) {
+            return agendaCache.loadAll(userId);
+        }
+        return eventRepository.attachParticipants(
+                eventRepository.findEventDtosByUserInvolvedOrderByStartTime(userId));
+    }
+
+    /**
+     * Feeds every event of the user to the consumer in start-time order without materializing
+     * the calendar. The persistence context is cleared after each chunk so memory stays flat.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllEventsForUser(Long userId, Consumer<EventDto> consumer) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Rows are mapped a chunk at a time so participant collections load in batches
+        List<Event> chunk = new ArrayList<>(streamChunkSize);
+        try (Stream<Event> events = eventRepository.streamEventsByUserInvolvedOrderByStartTime(user)) {
+            for (Event event : (Iterable<Event>) events::iterator) {
+                chunk.add(event);
+                if (chunk.size() == streamChunkSize) {
+                    flushChunk(chunk, consumer);
+                }
+            }
+        }
+        flushChunk(chunk, consumer);
+    }
+
+    private void flushChunk(List<Event> chunk, Consumer<EventDto> consumer) {
+        for (Event event : chunk) {
+            consumer.accept(new EventDto(event));
+        }
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventDto> getEventsPageForUser(Long userId, int limit, String after) {
+        requireUser(userId);
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<EventDto> events;
+        if (after == null) {
+            events = eventRepository.findEventDtosByUserInvolvedFirstPage(userId, page);
+        } else {
+            String[] keys = CursorPage.decodeCursor(after, 2);
+            LocalDateTime afterStart;
+            Long afterId;
+            try {
+                afterStart = LocalDateTime.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            events = eventRepository.findEventDtosByUserInvolvedAfter(userId, afterStart, afterId, page);
+        }
+
+        String nextCursor = null;
+        if (events.size() > limit) {
+            events = new ArrayList<>(events.subList(0, limit));
+            EventDto last = events.get(limit - 1);
+            nextCursor = CursorPage.encodeCursor(last.getStartTime().toString(), last.getId().toString());
+        }
+        return new CursorPage<>(eventRepository.attachParticipants(events), nextCursor);
+    }
+
+    /**
+     * Events of the user written since the token, plus ids of events the user lost access to.
+     * Without a token every event is returned. The new token is taken before reading, so a
+     * change that commits during the read is sent again next time rather than missed.
+     */
+    @Transactional(readOnly = true)
+    public EventChangesResponse getChangesForUser(Long userId, String since) {
+        requireUser(userId);
         
-        return eventRepository.findEventsByUserInvolvedOrderByStartTime(user)
-                .stream()
-                .map(EventDto::new)
-                .collect(Collectors.toList());
+        // The token holds the watermark it was issued at and when; expired tokens get a full sync
+        // because tombstones they would need may have been pruned
+        boolean fullSync = since == null || since.isEmpty();
+        long after = 0;
+        if (!fullSync) {
+            String[] keys = CursorPage.decodeCursor(since, 2);
+            try {
+                after = Long.parseLong(keys[0]);
+                fullSync = eventChangeLog.isExpired(Instant.ofEpochMilli(Long.parseLong(keys[1])));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+        }
+        String token = CursorPage.encodeCursor(String.valueOf(eventChangeLog.watermark()),
+                String.valueOf(Instant.now().toEpochMilli()));
+        
+        if (fullSync) {
+            return new EventChangesResponse(getAllEventsForUser(userId), new ArrayList<>(), token, true);
+        }
+        List<EventDto> events = eventRepository.attachParticipants(
+                eventRepository.findEventDtosByUserChangedSince(userId, after));
+        // An event the user was removed from and then re-added to is reported as changed only
+        Set<Long> changedIds = new HashSet<>();
+        for (EventDto event : events) {
+            changedIds.add(event.getId());
+        }
+        List<Long> deletedIds = new ArrayList<>();
+        for (Long eventId : eventTombstoneRepository.findEventIdsByUserChangedSince(userId, after)) {
+            if (!changedIds.contains(eventId)) {
+                deletedIds.add(eventId);
+            }
+        }
+        return new EventChangesResponse(events, deletedIds, token, false);
     }
 
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsForUserInDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (eventIntervalIndex.isEnabled()) {
+            List<EventDto> indexed = eventIntervalIndex.findOverlapping(userId, startDate, endDate);
+            if (indexed != null) {
+                return recurrenceService.expandInRange(indexed, startDate, endDate);
+            }
+        } else if (agendaCache.isEnabled()) {
+            List<EventDto> cached = agendaCache.findInRange(userId, startDate, endDate);
+            if (cached != null) {
+                return recurrenceService.expandInRange(cached, startDate, endDate);
+            }
+        }
+
+        requireUser(userId);
         
-        return eventRepository.findEventsByUserAndDateRange(user, startDate, endDate)
-                .stream()
-                .map(EventDto::new)
-                .collect(Collectors.toList());
+        List<EventDto> events = null;
+        if (eventIntervalIndex.isEnabled()) {
+            events = eventIntervalIndex.loadAndFindOverlapping(userId, startDate, endDate);
+        } else if (agendaCache.isEnabled()) {
+            // Null when the range spans more months than the cache keeps per query
+            events = agendaCache.loadAndFindInRange(userId, startDate, endDate);
+        }
+        if (events == null) {
+            events = eventRepository.attachParticipants(
+                    eventRepository.findEventDtosByUserAndDateRange(userId, startDate, endDate));
+        }
+        return recurrenceService.expandInRange(events, startDate, endDate);
+    }
+
+    /**
+     * Events of the user whose title, location or description contain every word of the
+     * query, best matches first. Matching is done by {@link EventSearchIndex}; only the
+     * returned page of events is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<EventDto> searchEvents(Long userId, String query, int limit) {
+        List<Long> ids = eventSearchIndex.search(userId, query, limit);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, EventDto> byId = new HashMap<>();
+        for (EventDto event : eventRepository.findEventDtosByIdIn(ids)) {
+            byId.put(event.getId(), event);
+        }
+        List<EventDto> events = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EventDto event = byId.get(id);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return eventRepository.attachParticipants(events);
     }
 
     public EventDto getEventById(Long eventId, Long userId) {
@@ -59,7 +282,7 @@ public class EventService {
         return new EventDto(event);
     }
 
-    public EventDto createEvent(EventDto eventDto, Long ownerId) {
+    public EventDto createEvent(EventDto eventDto, Long ownerId, ConflictCheck conflictCheck) {
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -75,11 +298,17 @@ public class EventService {
             }
         }
         
+        List<EventConflict> conflicts = checkConflicts(conflictCheck, ownerId, null, event);
+        
+        event.setChangeSeq(eventChangeLog.next());
         Event savedEvent = eventRepository.save(event);
-        return new EventDto(savedEvent);
+        EventDto savedDto = new EventDto(savedEvent);
+        publishChange(EventChange.Type.CREATED, savedEvent, savedDto, null, Collections.emptySet());
+        savedDto.setConflicts(conflicts);
+        return savedDto;
     }
 
-    public EventDto updateEvent(Long eventId, EventDto eventDto, Long userId) {
+    public EventDto updateEvent(Long eventId, EventDto eventDto, Long userId, ConflictCheck conflictCheck) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
@@ -91,24 +320,37 @@ public class EventService {
             throw new RuntimeException("Only the event owner can update this event");
         }
         
-        updateEventFromDto(event, eventDto);
+        Set<Long> previousUserIds = involvedUserIds(event);
+        EventChange.Span previousSpan = span(event);
+        boolean changed = updateEventFromDto(event, eventDto);
         
-        // Update participants
+        // Update participants; only users who are not participants yet are loaded
         if (eventDto.getParticipantIds() != null) {
-            // Clear existing participants
-            event.getParticipants().clear();
-            
-            // Add new participants
-            if (!eventDto.getParticipantIds().isEmpty()) {
-                List<User> participants = userRepository.findByIdIn(eventDto.getParticipantIds());
-                for (User participant : participants) {
-                    event.addParticipant(participant);
+            Set<Long> addedIds = addedParticipantIds(event, eventDto.getParticipantIds());
+            Map<Long, User> users = new HashMap<>();
+            if (!addedIds.isEmpty()) {
+                for (User participant : userRepository.findByIdIn(new ArrayList<>(addedIds))) {
+                    users.put(participant.getId(), participant);
                 }
             }
+            changed |= syncParticipants(event, eventDto.getParticipantIds(), users);
         }
         
+        List<EventConflict> conflicts = checkConflicts(conflictCheck, userId, eventId, event);
+        
+        // Nothing to write: no change number, no UPDATE and no notifications
+        if (!changed) {
+            EventDto unchangedDto = new EventDto(event);
+            unchangedDto.setConflicts(conflicts);
+            return unchangedDto;
+        }
+        
+        event.setChangeSeq(eventChangeLog.next());
         Event savedEvent = eventRepository.save(event);
-        return new EventDto(savedEvent);
+        EventDto savedDto = new EventDto(savedEvent);
+        publishChange(EventChange.Type.UPDATED, savedEvent, savedDto, previousSpan, previousUserIds);
+        savedDto.setConflicts(conflicts);
+        return savedDto;
     }
 
     public void deleteEvent(Long eventId, Long userId) {
@@ -120,44 +362,210 @@ public class EventService {
             throw new RuntimeException("Only the event owner can delete this event");
         }
         
+        Set<Long> previousUserIds = involvedUserIds(event);
         eventRepository.delete(event);
+        publishDeletion(eventId, span(event), previousUserIds);
     }
 
-    public EventDto addParticipantToEvent(Long eventId, Long participantId, Long userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    /**
+     * Creates events for one owner in a single transaction. Participants of all items are
+     * resolved with one query and the inserts reach the database as JDBC batches on flush.
+     * Invalid items are reported and skipped without failing the rest.
+     */
+    public List<BatchItemResult> createEvents(List<EventDto> eventDtos, Long ownerId) {
+        User owner = userRepository.findById(ownerId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Map<Long, User> users = findParticipants(eventDtos);
+        
+        BatchItemResult[] results = new BatchItemResult[eventDtos.size()];
+        Map<Integer, Event> created = new LinkedHashMap<>();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            String error = validate(eventDto);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, error);
+                continue;
+            }
+            
+            Event event = new Event();
+            updateEventFromDto(event, eventDto);
+            event.setOwner(owner);
+            setParticipants(event, eventDto.getParticipantIds(), users);
+            event.setChangeSeq(eventChangeLog.next());
+            created.put(i, event);
+        }
         
-        User participant = userRepository.findById(participantId)
-                .orElseThrow(() -> new RuntimeException("Participant not found"));
+        eventRepository.saveAll(created.values());
+        for (Map.Entry<Integer, Event> entry : created.entrySet()) {
+            Event event = entry.getValue();
+            EventDto savedDto = new EventDto(event);
+            publishChange(EventChange.Type.CREATED, event, savedDto, null, Collections.emptySet());
+            results[entry.getKey()] = BatchItemResult.succeeded(entry.getKey(), event.getId(), savedDto);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Updates events of one owner in a single transaction. Events and participants are loaded
+     * with one query each; the updates are flushed as JDBC batches at commit.
+     */
+    public List<BatchItemResult> updateEvents(List<EventDto> eventDtos, Long userId) {
+        requireUser(userId);
         
-        // Check if user is the owner of this event
-        if (!event.getOwner().getId().equals(userId)) {
-            throw new RuntimeException("Only the event owner can add participants");
+        Set<Long> eventIds = new HashSet<>();
+        for (EventDto eventDto : eventDtos) {
+            if (eventDto.getId() != null) {
+                eventIds.add(eventDto.getId());
+            }
         }
+        Map<Long, Event> events = findEvents(eventIds);
+        Map<Long, User> users = findParticipants(eventDtos);
         
-        event.addParticipant(participant);
-        Event savedEvent = eventRepository.save(event);
-        return new EventDto(savedEvent);
+        List<BatchItemResult> results = new ArrayList<>(eventDtos.size());
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            Event event = eventDto.getId() == null ? null : events.get(eventDto.getId());
+            String error = validate(eventDto);
+            if (error == null && event == null) {
+                error = "Event not found";
+            } else if (error == null && !event.getOwner().getId().equals(userId)) {
+                error = "Only the event owner can update this event";
+            }
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, eventDto.getId(), error));
+                continue;
+            }
+            
+            Set<Long> previousUserIds = involvedUserIds(event);
+            EventChange.Span previousSpan = span(event);
+            boolean changed = updateEventFromDto(event, eventDto);
+            if (eventDto.getParticipantIds() != null) {
+                changed |= syncParticipants(event, eventDto.getParticipantIds(), users);
+            }
+            if (!changed) {
+                results.add(BatchItemResult.succeeded(i, event.getId(), new EventDto(event)));
+                continue;
+            }
+            event.setChangeSeq(eventChangeLog.next());
+            EventDto savedDto = new EventDto(event);
+            publishChange(EventChange.Type.UPDATED, event, savedDto, previousSpan, previousUserIds);
+            results.add(BatchItemResult.succeeded(i, event.getId(), savedDto));
+        }
+        return results;
     }
 
-    public EventDto removeParticipantFromEvent(Long eventId, Long participantId, Long userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    public List<BatchItemResult> deleteEvents(List<Long> eventIds, Long userId) {
+        Map<Long, Event> events = findEvents(eventIds);
         
-        User participant = userRepository.findById(participantId)
-                .orElseThrow(() -> new RuntimeException("Participant not found"));
+        List<BatchItemResult> results = new ArrayList<>(eventIds.size());
+        Map<Long, Event> deleted = new LinkedHashMap<>();
+        for (int i = 0; i < eventIds.size(); i++) {
+            Long eventId = eventIds.get(i);
+            Event event = events.get(eventId);
+            if (event == null || deleted.containsKey(eventId)) {
+                results.add(BatchItemResult.failed(i, eventId, "Event not found"));
+            } else if (!event.getOwner().getId().equals(userId)) {
+                results.add(BatchItemResult.failed(i, eventId, "Only the event owner can delete this event"));
+            } else {
+                deleted.put(eventId, event);
+                results.add(BatchItemResult.succeeded(i, eventId, null));
+            }
+        }
         
-        // Check if user is the owner of this event or the participant themselves
-        if (!event.getOwner().getId().equals(userId) && !participantId.equals(userId)) {
+        for (Event event : deleted.values()) {
+            Set<Long> previousUserIds = involvedUserIds(event);
+            eventRepository.delete(event);
+            publishDeletion(event.getId(), span(event), previousUserIds);
+        }
+        return results;
+    }
+
+    public EventDto addParticipantToEvent(Long eventId, Long participantId, Long userId) {
+        requireUser(participantId, "Participant not found");
+        return addParticipantsToEvent(eventId, List.of(participantId), userId);
+    }
+
+    public EventDto removeParticipantFromEvent(Long eventId, Long participantId, Long userId) {
+        requireUser(participantId, "Participant not found");
+        return removeParticipantsFromEvent(eventId, List.of(participantId), userId);
+    }
+
+    /**
+     * Adds participants with one insert into event_participants. Neither the event's participants
+     * nor the users' events are loaded; unknown users and existing participants are skipped.
+     */
+    public EventDto addParticipantsToEvent(Long eventId, Collection<Long> participantIds, Long userId) {
+        Event event = findEventForParticipantChange(eventId);
+        if (!event.getOwner().getId().equals(userId)) {
+            throw new RuntimeException("Only the event owner can add participants");
+        }
+        List<Long> previousParticipantIds = eventRepository.findParticipantIdsByEventId(eventId);
+        int added = eventRepository.insertParticipants(eventId, participantIds);
+        return participantsChanged(event, previousParticipantIds, added > 0);
+    }
+
+    // The owner can remove anyone; participants can only remove themselves
+    public EventDto removeParticipantsFromEvent(Long eventId, Collection<Long> participantIds, Long userId) {
+        Event event = findEventForParticipantChange(eventId);
+        if (!event.getOwner().getId().equals(userId) && !participantIds.stream().allMatch(userId::equals)) {
             throw new RuntimeException("Access denied");
         }
-        
-        event.removeParticipant(participant);
-        Event savedEvent = eventRepository.save(event);
-        return new EventDto(savedEvent);
+        List<Long> previousParticipantIds = eventRepository.findParticipantIdsByEventId(eventId);
+        int removed = eventRepository.deleteParticipants(eventId, participantIds);
+        return participantsChanged(event, previousParticipantIds, removed > 0);
+    }
+
+    // Native writes invalidate cached queries but not the event's cached participant collection.
+    // It is evicted once the transaction ends so a reload racing with the commit is not kept.
+    private void evictParticipantsAfterCompletion(Long eventId) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evictCollectionData(PARTICIPANTS_ROLE, eventId);
+            }
+        });
+    }
+
+    // findById so the ownership check is usually answered by the second-level cache; the owner
+    // is compared by id and not loaded
+    private Event findEventForParticipantChange(Long eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+    }
+
+    private EventDto participantsChanged(Event event, List<Long> previousParticipantIds, boolean changed) {
+        if (changed) {
+            event.setChangeSeq(eventChangeLog.next());
+            evictParticipantsAfterCompletion(event.getId());
+        }
+        EventDto eventDto = eventRepository.attachParticipants(
+                eventRepository.findEventDtosByIdIn(List.of(event.getId()))).get(0);
+        if (changed) {
+            Set<Long> previousUserIds = new LinkedHashSet<>();
+            previousUserIds.add(eventDto.getOwnerId());
+            previousUserIds.addAll(previousParticipantIds);
+            Set<Long> currentUserIds = new LinkedHashSet<>();
+            currentUserIds.add(eventDto.getOwnerId());
+            currentUserIds.addAll(eventDto.getParticipantIds());
+            publishChange(EventChange.Type.UPDATED, event.getId(), event.getChangeSeq(), eventDto, span(event),
+                    previousUserIds, currentUserIds);
+        }
+        return eventDto;
     }
 
-    private void updateEventFromDto(Event event, EventDto eventDto) {
+    // Returns whether any field differs, so callers can leave unchanged events unwritten
+    private boolean updateEventFromDto(Event event, EventDto eventDto) {
+        boolean changed = !Objects.equals(event.getTitle(), eventDto.getTitle())
+                || !Objects.equals(event.getDescription(), eventDto.getDescription())
+                || !Objects.equals(event.getStartTime(), eventDto.getStartTime())
+                || !Objects.equals(event.getEndTime(), eventDto.getEndTime())
+                || !Objects.equals(event.getLocation(), eventDto.getLocation())
+                || event.getEventType() != eventDto.getEventType()
+                || event.getStatus() != eventDto.getStatus()
+                || event.isAllDay() != eventDto.isAllDay()
+                || event.isRecurring() != eventDto.isRecurring()
+                || !Objects.equals(event.getRecurrencePattern(), eventDto.getRecurrencePattern());
         event.setTitle(eventDto.getTitle());
         event.setDescription(eventDto.getDescription());
         event.setStartTime(eventDto.getStartTime());
@@ -168,6 +576,171 @@ public class EventService {
         event.setAllDay(eventDto.isAllDay());
         event.setRecurring(eventDto.isRecurring());
         event.setRecurrencePattern(eventDto.getRecurrencePattern());
+        return changed;
+    }
+
+    // Requested participants who are not on the event yet
+    private Set<Long> addedParticipantIds(Event event, List<Long> participantIds) {
+        Set<Long> addedIds = new LinkedHashSet<>(participantIds);
+        for (User participant : event.getParticipants()) {
+            addedIds.remove(participant.getId());
+        }
+        return addedIds;
+    }
+
+    /**
+     * Brings the event's participants in line with the requested ids by removing and adding
+     * only the difference, so Hibernate deletes and inserts just those join rows instead of
+     * recreating the collection. Ids missing from users are ignored. Returns whether anything
+     * changed.
+     */
+    private boolean syncParticipants(Event event, List<Long> participantIds, Map<Long, User> users) {
+        Set<Long> addedIds = addedParticipantIds(event, participantIds);
+        Set<Long> requestedIds = new HashSet<>(participantIds);
+        boolean changed = false;
+        for (User participant : new ArrayList<>(event.getParticipants())) {
+            if (!requestedIds.contains(participant.getId())) {
+                event.removeParticipant(participant);
+                changed = true;
+            }
+        }
+        for (Long participantId : addedIds) {
+            User participant = users.get(participantId);
+            if (participant != null) {
+                event.addParticipant(participant);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private Map<Long, Event> findEvents(Collection<Long> eventIds) {
+        Map<Long, Event> events = new HashMap<>();
+        if (!eventIds.isEmpty()) {
+            for (Event event : eventRepository.findByIdIn(eventIds)) {
+                events.put(event.getId(), event);
+            }
+        }
+        return events;
+    }
+
+    // All participants referenced by the items, in one query
+    private Map<Long, User> findParticipants(List<EventDto> eventDtos) {
+        Set<Long> userIds = new HashSet<>();
+        for (EventDto eventDto : eventDtos) {
+            if (eventDto.getParticipantIds() != null) {
+                userIds.addAll(eventDto.getParticipantIds());
+            }
+        }
+        Map<Long, User> users = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (User user : userRepository.findByIdIn(new ArrayList<>(userIds))) {
+                users.put(user.getId(), user);
+            }
+        }
+        return users;
+    }
+
+    // Unknown ids are ignored, as in createEvent
+    private void setParticipants(Event event, List<Long> participantIds, Map<Long, User> users) {
+        if (participantIds == null) {
+            return;
+        }
+        for (Long participantId : participantIds) {
+            User participant = users.get(participantId);
+            if (participant != null) {
+                event.addParticipant(participant);
+            }
+        }
+    }
+
+    // Batch items are not validated by the controller, so apply the EventDto constraints here
+    private String validate(EventDto eventDto) {
+        Set<ConstraintViolation<EventDto>> violations = validator.validate(eventDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<EventDto> violation = violations.iterator().next();
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    /**
+     * Overlapping events of the owner and participants of the event about to be saved, or null
+     * when conflicts are not checked. Cancelled events never conflict.
+     */
+    private List<EventConflict> checkConflicts(ConflictCheck conflictCheck, Long userId, Long eventId, Event event) {
+        if (conflictCheck == ConflictCheck.NONE) {
+            return null;
+        }
+        if (event.getStatus() == Event.EventStatus.CANCELLED) {
+            return new ArrayList<>();
+        }
+        
+        List<EventConflict> conflicts = eventConflictService.findConflicts(userId, eventId, involvedUserIds(event),
+                event.getStartTime(), event.getEndTime(), event.isRecurring(), event.getRecurrencePattern());
+        if (conflictCheck == ConflictCheck.REJECT && !conflicts.isEmpty()) {
+            throw new EventConflictException(conflicts);
+        }
+        return conflicts;
+    }
+
+    // findById rather than existsById so the check is answered by the second-level cache
+    private void requireUser(Long userId) {
+        requireUser(userId, "User not found");
+    }
+
+    private void requireUser(Long userId, String message) {
+        if (userRepository.findById(userId).isEmpty()) {
+            throw new RuntimeException(message);
+        }
+    }
+
+    // Callers set the event's change number before saving; users who lost access get tombstones
+    private void publishChange(EventChange.Type type, Event event, EventDto eventDto, EventChange.Span previousSpan,
+                               Set<Long> previousUserIds) {
+        publishChange(type, event.getId(), event.getChangeSeq(), eventDto, previousSpan, previousUserIds,
+                involvedUserIds(event));
+    }
+
+    private void publishChange(EventChange.Type type, Long eventId, long changeSeq, EventDto eventDto,
+                               EventChange.Span previousSpan, Set<Long> previousUserIds, Set<Long> currentUserIds) {
+        Set<Long> removedUserIds = new LinkedHashSet<>(previousUserIds);
+        removedUserIds.removeAll(currentUserIds);
+        recordTombstones(eventId, removedUserIds, changeSeq);
+        // Listeners keep the DTO after commit, so they get their own copy: the caller's one
+        // still receives the writer's conflicts, which only the writer may see
+        eventPublisher.publishEvent(new EventChange(type, eventId, new EventDto(eventDto), previousSpan,
+                previousUserIds, currentUserIds));
+    }
+
+    private void publishDeletion(Long eventId, EventChange.Span previousSpan, Set<Long> previousUserIds) {
+        recordTombstones(eventId, previousUserIds, eventChangeLog.next());
+        eventPublisher.publishEvent(new EventChange(EventChange.Type.DELETED, eventId, null, previousSpan,
+                previousUserIds, Collections.emptySet()));
+    }
+
+    private static EventChange.Span span(Event event) {
+        return new EventChange.Span(event.getStartTime(), event.getEndTime(), event.isRecurring());
+    }
+
+    private void recordTombstones(Long eventId, Set<Long> userIds, long changeSeq) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<EventTombstone> tombstones = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            tombstones.add(new EventTombstone(eventId, userId, changeSeq));
+        }
+        eventTombstoneRepository.saveAll(tombstones);
+    }
+
+    private Set<Long> involvedUserIds(Event event) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        userIds.add(event.getOwner().getId());
+        for (User participant : event.getParticipants()) {
+            userIds.add(participant.getId());
+        }
+        return userIds;
     }
 
     private boolean hasAccessToEvent(Event event, User user) {
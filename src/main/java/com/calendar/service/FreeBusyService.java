@@ -0,0 +1,135 @@
+package com.calendar.service;
+
+import com.calendar.dto.BusyRow;
+import com.calendar.dto.FreeBusyDto;
+import com.calendar.dto.TimeRange;
+import com.calendar.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Busy time for many users over a window. Events are read with two batched queries (owned and
+ * participating), cancelled events are skipped, and each user's intervals are reduced to a
+ * sorted, merged {@code long[]} of second offsets from the window start.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FreeBusyService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Value("${calendar.freebusy.max-users:200}")
+    private int maxUsers;
+
+    @Value("${calendar.freebusy.max-window:366d}")
+    private Duration maxWindow;
+
+    public List<FreeBusyDto> getFreeBusy(Collection<Long> userIds, LocalDateTime from, LocalDateTime to) {
+        Map<Long, long[]> busy = getBusyIntervals(userIds, from, to);
+
+        List<FreeBusyDto> result = new ArrayList<>(busy.size());
+        for (Map.Entry<Long, long[]> entry : busy.entrySet()) {
+            long[] intervals = entry.getValue();
+            List<TimeRange> ranges = new ArrayList<>(intervals.length / 2);
+            for (int i = 0; i < intervals.length; i += 2) {
+                ranges.add(new TimeRange(from.plusSeconds(intervals[i]), from.plusSeconds(intervals[i + 1])));
+            }
+            result.add(new FreeBusyDto(entry.getKey(), ranges));
+        }
+        return result;
+    }
+
+    /**
+     * Merged busy intervals per user, in request order. Each array holds start/end pairs as
+     * seconds from {@code from}, clipped to the window: [s0, e0, s1, e1, ...].
+     */
+    public Map<Long, long[]> getBusyIntervals(Collection<Long> userIds, LocalDateTime from, LocalDateTime to) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.isEmpty() || ids.size() > maxUsers) {
+            throw new IllegalArgumentException("Between 1 and " + maxUsers + " users are required");
+        }
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("Window must be non-empty and at most " + maxWindow.toDays() + " days");
+        }
+
+        Map<Long, PackedIntervals> collected = new HashMap<>();
+        for (Long id : ids) {
+            collected.put(id, new PackedIntervals());
+        }
+        collect(eventRepository.findOwnerBusyRows(ids, from, to), collected, from, to);
+        collect(eventRepository.findParticipantBusyRows(ids, from, to), collected, from, to);
+
+        Map<Long, long[]> busy = new LinkedHashMap<>();
+        for (Long id : ids) {
+            busy.put(id, collected.get(id).merged());
+        }
+        return busy;
+    }
+
+    private void collect(List<BusyRow> rows, Map<Long, PackedIntervals> collected, LocalDateTime from, LocalDateTime to) {
+        long windowStart = EventIntervalIndex.toEpoch(from);
+        long windowLength = EventIntervalIndex.toEpoch(to) - windowStart;
+        for (BusyRow row : rows) {
+            PackedIntervals intervals = collected.get(row.getUserId());
+            RecurrenceRule rule = recurrenceService.getRule(row.isRecurring(), row.getRecurrencePattern());
+            recurrenceService.forEachOccurrence(rule, row.getStartTime(), row.getEndTime(), from, to, (start, end) -> {
+                long s = Math.max(0, EventIntervalIndex.toEpoch(start) - windowStart);
+                long e = Math.min(windowLength, EventIntervalIndex.toEpoch(end) - windowStart);
+                if (s < e) {
+                    intervals.add(s, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Growable array of intervals packed as (start << 32 | end), so a primitive sort orders
+     * them by start. Offsets fit in 32 bits because the window is bounded.
+     */
+    private static final class PackedIntervals {
+        private long[] data = new long[8];
+        private int size;
+
+        void add(long start, long end) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = start << 32 | end;
+        }
+
+        long[] merged() {
+            Arrays.sort(data, 0, size);
+            long[] out = new long[size * 2];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                long start = data[i] >>> 32;
+                long end = data[i] & 0xFFFFFFFFL;
+                if (n > 0 && start <= out[n - 1]) {
+                    out[n - 1] = Math.max(out[n - 1], end);
+                } else {
+                    out[n++] = start;
+                    out[n++] = end;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+}
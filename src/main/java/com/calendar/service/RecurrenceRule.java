@@ -0,0 +1,290 @@
+package com.calendar.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Parsed form of an event's recurrence pattern. Accepts a subset of RFC 5545 RRULE
+ * ({@code FREQ}, {@code INTERVAL}, {@code COUNT}, {@code UNTIL}, {@code BYDAY} for daily and
+ * weekly rules) as well as the plain "Daily", "Weekly", "Monthly" and "Yearly" shorthands
+ * offered by the event dialog. Instances are immutable and safe to share.
+ *
+ * As in RFC 5545, monthly and yearly series skip the months and years that have no such day,
+ * so a series on the 31st has no February occurrence and one on 29 February only recurs in
+ * leap years. COUNT is limited to {@value #MAX_COUNT}.
+ */
+public final class RecurrenceRule {
+
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // Bounds the occurrences walked for COUNT rules that cannot be counted arithmetically
+    static final int MAX_COUNT = 10000;
+
+    private final ChronoUnit frequency;
+    private final int interval;
+    private final int count;
+    private final LocalDateTime until;
+    // Bit (dayOfWeek.getValue() - 1) is set for each BYDAY entry, 0 when BYDAY is absent
+    private final int byDay;
+
+    private RecurrenceRule(ChronoUnit frequency, int interval, int count, LocalDateTime until, int byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    public static RecurrenceRule parse(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Empty recurrence pattern");
+        }
+        String rule = pattern.trim().toUpperCase(Locale.ROOT);
+        if (rule.startsWith("RRULE:")) {
+            rule = rule.substring("RRULE:".length());
+        }
+        if (!rule.contains("=")) {
+            return new RecurrenceRule(parseFrequency(rule), 1, 0, null, 0);
+        }
+
+        ChronoUnit frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDateTime until = null;
+        int byDay = 0;
+        for (String part : rule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String name = part.substring(0, eq);
+            String value = part.substring(eq + 1);
+            switch (name) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = parsePositive(name, value);
+                case "COUNT" -> {
+                    count = parsePositive(name, value);
+                    if (count > MAX_COUNT) {
+                        throw new IllegalArgumentException("COUNT must be at most " + MAX_COUNT + ": " + value);
+                    }
+                }
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> byDay = parseByDay(value);
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule has no FREQ");
+        }
+        if (byDay != 0 && frequency != ChronoUnit.DAYS && frequency != ChronoUnit.WEEKS) {
+            throw new IllegalArgumentException("BYDAY is only supported for daily and weekly rules");
+        }
+        return new RecurrenceRule(frequency, interval, count, until, byDay);
+    }
+
+    /**
+     * Start times of the series beginning at {@code seriesStart}, in order. The iterator is
+     * computed on the fly and holds no per-occurrence state.
+     */
+    public Iterator<LocalDateTime> occurrences(LocalDateTime seriesStart) {
+        return new OccurrenceIterator(seriesStart, null);
+    }
+
+    /**
+     * Start times of occurrences lasting {@code duration} that end after {@code from}. Whole
+     * periods before {@code from} are skipped arithmetically where the COUNT can still be tracked.
+     */
+    public Iterator<LocalDateTime> occurrencesEndingAfter(LocalDateTime seriesStart, Duration duration,
+                                                          LocalDateTime from) {
+        return new OccurrenceIterator(seriesStart, from.minus(duration));
+    }
+
+    /**
+     * Latest time an occurrence can start, or null when the series never ends. Exact for
+     * COUNT rules, and the UNTIL bound itself otherwise. COUNT rules are only walked when
+     * BYDAY or skipped months make the arithmetic inexact.
+     */
+    public LocalDateTime lastStartBound(LocalDateTime seriesStart) {
+        if (count == 0) {
+            return until;
+        }
+        if (byDay == 0 && !skipsPeriods(seriesStart)) {
+            LocalDateTime last = seriesStart.plus((long) (count - 1) * interval, frequency);
+            return until != null && last.isAfter(until) ? until : last;
+        }
+        LocalDateTime last = seriesStart;
+        Iterator<LocalDateTime> it = occurrences(seriesStart);
+        while (it.hasNext()) {
+            last = it.next();
+        }
+        return last;
+    }
+
+    // Whether some periods have no occurrence because the month is too short for the day
+    private boolean skipsPeriods(LocalDateTime seriesStart) {
+        return switch (frequency) {
+            case MONTHS -> seriesStart.getDayOfMonth() > 28;
+            case YEARS -> seriesStart.getMonthValue() == 2 && seriesStart.getDayOfMonth() == 29;
+            default -> false;
+        };
+    }
+
+    private static ChronoUnit parseFrequency(String value) {
+        return switch (value) {
+            case "DAILY" -> ChronoUnit.DAYS;
+            case "WEEKLY" -> ChronoUnit.WEEKS;
+            case "MONTHLY" -> ChronoUnit.MONTHS;
+            case "YEARLY" -> ChronoUnit.YEARS;
+            default -> throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+        };
+    }
+
+    private static int parsePositive(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException(name + " must be a positive integer: " + value);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return local.length() == 8
+                    ? LocalDate.parse(local, UNTIL_DATE).atTime(23, 59, 59)
+                    : LocalDateTime.parse(local, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid UNTIL: " + value);
+        }
+    }
+
+    private static int parseByDay(String value) {
+        int mask = 0;
+        for (String day : value.split(",")) {
+            mask |= 1 << (switch (day) {
+                case "MO" -> DayOfWeek.MONDAY;
+                case "TU" -> DayOfWeek.TUESDAY;
+                case "WE" -> DayOfWeek.WEDNESDAY;
+                case "TH" -> DayOfWeek.THURSDAY;
+                case "FR" -> DayOfWeek.FRIDAY;
+                case "SA" -> DayOfWeek.SATURDAY;
+                case "SU" -> DayOfWeek.SUNDAY;
+                default -> throw new IllegalArgumentException("Invalid BYDAY: " + day);
+            }).ordinal();
+        }
+        return mask;
+    }
+
+    private final class OccurrenceIterator implements Iterator<LocalDateTime> {
+        private final LocalDateTime seriesStart;
+        private final LocalDateTime weekStart;
+        private long period;
+        // Day offset within the current weekly period, used only for weekly BYDAY rules
+        private int dayOffset;
+        private int emitted;
+        private LocalDateTime next;
+
+        OccurrenceIterator(LocalDateTime seriesStart, LocalDateTime skipBefore) {
+            this.seriesStart = seriesStart;
+            this.weekStart = seriesStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            // With COUNT set, skipped periods are only counted correctly by walking them
+            if (skipBefore != null && (count == 0 || (byDay == 0 && !skipsPeriods(seriesStart)))) {
+                skipPeriods(skipBefore);
+            }
+            this.next = advance();
+            while (next != null && skipBefore != null && !next.isAfter(skipBefore)) {
+                next = advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            LocalDateTime current = next;
+            next = advance();
+            return current;
+        }
+
+        private void skipPeriods(LocalDateTime skipBefore) {
+            if (!skipBefore.isAfter(seriesStart)) {
+                return;
+            }
+            LocalDateTime base = frequency == ChronoUnit.WEEKS && byDay != 0 ? weekStart : seriesStart;
+            long periods = frequency.between(base, skipBefore) / interval - 1;
+            if (periods > 0) {
+                period = periods;
+                // Only reached when COUNT is absent or there is exactly one occurrence per period
+                emitted = (int) Math.min(Integer.MAX_VALUE, periods);
+            }
+        }
+
+        private LocalDateTime advance() {
+            int misses = 0;
+            while (count == 0 || emitted < count) {
+                LocalDateTime candidate = candidate();
+                if (candidate == null) {
+                    // A week's worth of filtered slots means BYDAY can never match this interval
+                    if (++misses > 7 * interval + 7) {
+                        return null;
+                    }
+                    continue;
+                }
+                if (until != null && candidate.isAfter(until)) {
+                    return null;
+                }
+                emitted++;
+                return candidate;
+            }
+            return null;
+        }
+
+        // Produces the next candidate and moves the cursor, or returns null for a filtered slot
+        private LocalDateTime candidate() {
+            if (frequency == ChronoUnit.WEEKS && byDay != 0) {
+                LocalDateTime day = weekStart.plusWeeks(period * interval).plusDays(dayOffset);
+                boolean selected = (byDay & (1 << dayOffset)) != 0;
+                if (++dayOffset == 7) {
+                    dayOffset = 0;
+                    period++;
+                }
+                if (!selected || day.isBefore(seriesStart)) {
+                    return null;
+                }
+                return day;
+            }
+
+            LocalDateTime candidate = seriesStart.plus(period * interval, frequency);
+            period++;
+            // plus() moves the 29th-31st to the end of shorter months; those months are skipped
+            if ((frequency == ChronoUnit.MONTHS || frequency == ChronoUnit.YEARS)
+                    && candidate.getDayOfMonth() != seriesStart.getDayOfMonth()) {
+                return null;
+            }
+            if (byDay != 0 && (byDay & (1 << candidate.getDayOfWeek().ordinal())) == 0) {
+                return null;
+            }
+            return candidate;
+        }
+    }
+}
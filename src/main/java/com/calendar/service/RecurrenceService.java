@@ -0,0 +1,149 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Expands recurring events into the occurrences that fall inside a query window. Parsed
+ * rules are kept in a small LRU cache keyed by pattern, including patterns that failed to
+ * parse so bad data is not re-parsed on every request.
+ */
+@Service
+public class RecurrenceService {
+    private static final Logger logger = LoggerFactory.getLogger(RecurrenceService.class);
+
+    @Value("${calendar.recurrence.cache-size:1024}")
+    private int cacheSize;
+
+    @Value("${calendar.recurrence.max-occurrences:1000}")
+    private int maxOccurrences;
+
+    private final Map<String, Optional<RecurrenceRule>> rules = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<RecurrenceRule>> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * Returns the parsed rule for a recurring event, or null when the event does not recur
+     * or its pattern cannot be parsed.
+     */
+    public RecurrenceRule getRule(EventDto event) {
+        return getRule(event.isRecurring(), event.getRecurrencePattern());
+    }
+
+    public RecurrenceRule getRule(boolean recurring, String pattern) {
+        if (!recurring || pattern == null) {
+            return null;
+        }
+        synchronized (rules) {
+            Optional<RecurrenceRule> cached = rules.get(pattern);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+        }
+
+        Optional<RecurrenceRule> parsed;
+        try {
+            parsed = Optional.of(RecurrenceRule.parse(pattern));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring recurrence pattern '{}': {}", pattern, e.getMessage());
+            parsed = Optional.empty();
+        }
+        synchronized (rules) {
+            rules.put(pattern, parsed);
+        }
+        return parsed.orElse(null);
+    }
+
+    /**
+     * End of the last occurrence of the event, LocalDateTime.MAX for series without an end.
+     */
+    public LocalDateTime seriesEnd(EventDto event) {
+        RecurrenceRule rule = getRule(event);
+        if (rule == null) {
+            return event.getEndTime();
+        }
+        LocalDateTime lastStart = rule.lastStartBound(event.getStartTime());
+        if (lastStart == null) {
+            return LocalDateTime.MAX;
+        }
+        return lastStart.plus(Duration.between(event.getStartTime(), event.getEndTime()));
+    }
+
+    /**
+     * Replaces each recurring event with its occurrences overlapping [from, to). Events that do
+     * not recur, or whose pattern cannot be parsed, are kept only if they overlap the window.
+     * The result is ordered by start time.
+     */
+    public List<EventDto> expandInRange(List<EventDto> events, LocalDateTime from, LocalDateTime to) {
+        List<EventDto> result = new ArrayList<>(events.size());
+        boolean expanded = false;
+        for (EventDto event : events) {
+            RecurrenceRule rule = getRule(event);
+            if (rule == null) {
+                // Range queries let every recurring row through, including ones whose pattern
+                // is empty or unparseable, so the window is checked here as well
+                if (event.getStartTime().isBefore(to) && event.getEndTime().isAfter(from)) {
+                    result.add(event);
+                }
+                continue;
+            }
+            expanded = true;
+
+            forEachOccurrence(rule, event.getStartTime(), event.getEndTime(), from, to, (start, end) -> {
+                EventDto occurrence = new EventDto(event);
+                occurrence.setStartTime(start);
+                occurrence.setEndTime(end);
+                result.add(occurrence);
+            });
+        }
+        if (expanded) {
+            result.sort(Comparator.comparing(EventDto::getStartTime));
+        }
+        return result;
+    }
+
+    /**
+     * Calls the action with the start and end of each occurrence of the series overlapping
+     * [from, to), up to calendar.recurrence.max-occurrences of them. A null rule means the
+     * event does not recur and is reported once if it overlaps the window.
+     */
+    public void forEachOccurrence(RecurrenceRule rule, LocalDateTime start, LocalDateTime end,
+                                  LocalDateTime from, LocalDateTime to,
+                                  BiConsumer<LocalDateTime, LocalDateTime> action) {
+        if (rule == null) {
+            if (start.isBefore(to) && end.isAfter(from)) {
+                action.accept(start, end);
+            }
+            return;
+        }
+
+        Duration duration = Duration.between(start, end);
+        Iterator<LocalDateTime> starts = rule.occurrencesEndingAfter(start, duration, from);
+        int emitted = 0;
+        while (starts.hasNext() && emitted < maxOccurrences) {
+            LocalDateTime occurrenceStart = starts.next();
+            if (!occurrenceStart.isBefore(to)) {
+                break;
+            }
+            action.accept(occurrenceStart, occurrenceStart.plus(duration));
+            emitted++;
+        }
+    }
+}
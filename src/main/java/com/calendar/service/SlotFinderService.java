@@ -0,0 +1,169 @@
+package com.calendar.service;
+
+import com.calendar.dto.SlotSuggestionRequest;
+import com.calendar.dto.TimeRange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the earliest times at which the organizer and all participants are free. Busy time
+ * comes from {@link FreeBusyService} in one batched read; the per-user interval lists are
+ * unioned with a k-way merge, split across the common fork-join pool for large groups, and
+ * the free gaps are then swept against the working hours on a fixed step grid.
+ */
+@Service
+public class SlotFinderService {
+
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    @Value("${calendar.slots.max-results:50}")
+    private int maxResults;
+
+    @Value("${calendar.slots.parallel-threshold:16}")
+    private int parallelThreshold;
+
+    public List<TimeRange> suggestSlots(SlotSuggestionRequest request, Long organizerId) {
+        if (request.getWorkdayStart() == null || request.getWorkdayEnd() == null
+                || !request.getWorkdayStart().isBefore(request.getWorkdayEnd())) {
+            throw new IllegalArgumentException("Working hours must start before they end");
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        userIds.add(organizerId);
+        userIds.addAll(request.getParticipantIds());
+
+        LocalDateTime from = request.getWindowStart();
+        LocalDateTime to = request.getWindowEnd();
+        long[][] busy = freeBusyService.getBusyIntervals(userIds, from, to).values().toArray(new long[0][]);
+
+        return findSlots(union(busy), request);
+    }
+
+    private long[] union(long[][] busy) {
+        if (busy.length <= parallelThreshold) {
+            return mergeAll(busy, 0, busy.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new UnionTask(busy, 0, busy.length, parallelThreshold));
+    }
+
+    private List<TimeRange> findSlots(long[] busy, SlotSuggestionRequest request) {
+        LocalDateTime from = request.getWindowStart();
+        long windowStart = EventIntervalIndex.toEpoch(from);
+        long windowLength = EventIntervalIndex.toEpoch(request.getWindowEnd()) - windowStart;
+        long duration = request.getDurationMinutes() * 60L;
+        long step = request.getStepMinutes() * 60L;
+        int limit = Math.min(request.getMaxResults(), maxResults);
+
+        List<TimeRange> slots = new ArrayList<>(limit);
+        int b = 0;
+        for (LocalDate day = from.toLocalDate();
+             slots.size() < limit && day.atTime(request.getWorkdayStart()).isBefore(request.getWindowEnd());
+             day = day.plusDays(1)) {
+            if (!request.isIncludeWeekends()
+                    && (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                continue;
+            }
+
+            // Candidate starts lie on the step grid anchored at the start of the working day
+            long dayStart = EventIntervalIndex.toEpoch(day.atTime(request.getWorkdayStart())) - windowStart;
+            long dayEnd = Math.min(windowLength,
+                    EventIntervalIndex.toEpoch(day.atTime(request.getWorkdayEnd())) - windowStart);
+            long t = dayStart < 0 ? dayStart + ceilDiv(-dayStart, step) * step : dayStart;
+
+            while (t + duration <= dayEnd && slots.size() < limit) {
+                while (b < busy.length && busy[b + 1] <= t) {
+                    b += 2;
+                }
+                if (b < busy.length && busy[b] < t + duration) {
+                    t = dayStart + ceilDiv(busy[b + 1] - dayStart, step) * step;
+                    continue;
+                }
+                slots.add(new TimeRange(from.plusSeconds(t), from.plusSeconds(t + duration)));
+                t += step;
+            }
+        }
+        return slots;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * Union of the sorted, merged interval lists in [lo, hi), itself sorted and merged. A heap
+     * of list cursors yields intervals in start order and overlapping ones are coalesced as
+     * they are emitted.
+     */
+    static long[] mergeAll(long[][] lists, int lo, int hi) {
+        int total = 0;
+        int[] position = new int[hi - lo];
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, hi - lo),
+                (a, c) -> Long.compare(lists[lo + a][position[a]], lists[lo + c][position[c]]));
+        for (int i = lo; i < hi; i++) {
+            total += lists[i].length;
+            if (lists[i].length > 0) {
+                heap.add(i - lo);
+            }
+        }
+
+        long[] out = new long[total];
+        int n = 0;
+        while (!heap.isEmpty()) {
+            int list = heap.poll();
+            long[] intervals = lists[lo + list];
+            long start = intervals[position[list]];
+            long end = intervals[position[list] + 1];
+            if (n > 0 && start <= out[n - 1]) {
+                out[n - 1] = Math.max(out[n - 1], end);
+            } else {
+                out[n++] = start;
+                out[n++] = end;
+            }
+            position[list] += 2;
+            if (position[list] < intervals.length) {
+                heap.add(list);
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static final class UnionTask extends RecursiveTask<long[]> {
+        private final long[][] lists;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+
+        UnionTask(long[][] lists, int lo, int hi, int threshold) {
+            this.lists = lists;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (hi - lo <= threshold) {
+                return mergeAll(lists, lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            UnionTask left = new UnionTask(lists, lo, mid, threshold);
+            left.fork();
+            long[] right = new UnionTask(lists, mid, hi, threshold).compute();
+            return mergeAll(new long[][]{left.join(), right}, 0, 2);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.calendar.service;
+
+import com.calendar.dto.UserDto;
+
+/**
+ * Published by {@link UserTypeaheadListener} whenever a user is written, so in-memory views
+ * of users are updated only once the transaction commits.
+ */
+public class UserChange {
+
+    public enum Type {
+        SAVED, REMOVED
+    }
+
+    private final Type type;
+    private final UserDto user;
+
+    public UserChange(Type type, UserDto user) {
+        this.type = type;
+        this.user = user;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // State of the user as written; for removals only the id is relied on
+    public UserDto getUser() {
+        return user;
+    }
+}
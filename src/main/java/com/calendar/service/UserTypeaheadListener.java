@@ -0,0 +1,32 @@
+package com.calendar.service;
+
+import com.calendar.dto.UserDto;
+import com.calendar.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener on {@link User} that publishes a {@link UserChange} for signups and
+ * profile changes. The callbacks run at flush, before the transaction commits, so
+ * {@link UserTypeaheadService} applies the change from a transactional event listener
+ * instead; a rolled back signup never reaches the index.
+ */
+public class UserTypeaheadListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onUserSaved(User user) {
+        eventPublisher.publishEvent(new UserChange(UserChange.Type.SAVED, new UserDto(user)));
+    }
+
+    @PostRemove
+    public void onUserRemoved(User user) {
+        eventPublisher.publishEvent(new UserChange(UserChange.Type.REMOVED, new UserDto(user)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.calendar.service;
+
+import com.calendar.dto.UserDto;
+import com.calendar.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix lookup of users for participant pickers, answered from memory. Each user is
+ * indexed under four sorted keys: username, full name, last name and email. A prefix query
+ * is a range scan on each key in that order, so username matches rank first. Results stop
+ * at the requested limit.
+ *
+ * The index is loaded once the application is ready and kept current by the
+ * {@link UserChange} events of {@link UserTypeaheadListener}, applied after commit.
+ */
+@Service
+public class UserTypeaheadService {
+    private static final Logger logger = LoggerFactory.getLogger(UserTypeaheadService.class);
+
+    private static final int FIELDS = 4;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // One sorted map per field in rank order, keyed by normalized value + '\0' + user id
+    private final List<NavigableMap<String, Long>> keys = new ArrayList<>(FIELDS);
+    private final Map<Long, UserDto> users = new ConcurrentHashMap<>();
+
+    public UserTypeaheadService() {
+        for (int i = 0; i < FIELDS; i++) {
+            keys.add(new ConcurrentSkipListMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (UserDto user : userRepository.findAllDtos()) {
+            put(user);
+        }
+        logger.info("Indexed {} users for typeahead", users.size());
+    }
+
+    public List<UserDto> search(String query, int limit) {
+        String prefix = normalize(query);
+        List<UserDto> result = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (NavigableMap<String, Long> field : keys) {
+            for (Long id : field.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                if (ids.add(id) && ids.size() == limit) {
+                    break;
+                }
+            }
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        for (Long id : ids) {
+            UserDto user = users.get(id);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void onUserChange(UserChange change) {
+        if (change.getType() == UserChange.Type.REMOVED) {
+            remove(change.getUser().getId());
+        } else {
+            put(change.getUser());
+        }
+    }
+
+    private synchronized void remove(Long userId) {
+        UserDto previous = users.remove(userId);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+    }
+
+    private synchronized void put(UserDto user) {
+        UserDto previous = users.put(user.getId(), user);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+        String[] values = fieldValues(user);
+        for (int i = 0; i < FIELDS; i++) {
+            if (!values[i].isEmpty()) {
+                keys.get(i).put(key(values[i], user.getId()), user.getId());
+            }
+        }
+    }
+
+    private void removeKeys(UserDto user) {
+        String[] values = fieldValues(user);
+        for (int i = 0; i < FIELDS; i++) {
+            keys.get(i).remove(key(values[i], user.getId()));
+        }
+    }
+
+    private static String[] fieldValues(UserDto user) {
+        return new String[]{
+                normalize(user.getUsername()),
+                normalize(fullName(user)),
+                normalize(user.getLastName()),
+                normalize(user.getEmail())
+        };
+    }
+
+    // Missing name parts are left out rather than indexed as "null"
+    private static String fullName(UserDto user) {
+        if (user.getFirstName() == null) {
+            return user.getLastName();
+        }
+        if (user.getLastName() == null) {
+            return user.getFirstName();
+        }
+        return user.getFirstName() + " " + user.getLastName();
+    }
+
+    private static String key(String value, Long id) {
+        return value + '\0' + id;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
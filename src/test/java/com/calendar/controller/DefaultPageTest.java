@@ -0,0 +1,106 @@
+package com.calendar.controller;
+
+import com.calendar.dto.CursorPage;
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.repository.EventRepository;
+import com.calendar.repository.UserRepository;
+import com.calendar.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints called without limit or after return the first page, capped at
+ * calendar.pagination.max-limit, rather than every row.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:default-page",
+        "calendar.pagination.max-limit=25"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DefaultPageTest {
+
+    private static final int ROWS = 30;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UserPrincipal owner;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User first = null;
+            for (int i = 0; i < ROWS; i++) {
+                User user = userRepository.save(new User(String.format("page%02d", i), "page" + i + "@example.com", "x"));
+                first = first == null ? user : first;
+            }
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime start = START.plusHours(i);
+                eventRepository.save(new Event("Event " + i, null, start, start.plusMinutes(30), first));
+            }
+            owner = UserPrincipal.create(first);
+        });
+    }
+
+    @Test
+    void eventsDefaultToFirstPage() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/events").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(25))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/api/events").with(user(owner))
+                        .param("after", first.getResponse().getHeader(CursorPage.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS - 25))
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void usersDefaultToFirstPage() throws Exception {
+        mockMvc.perform(get("/api/users").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(25))
+                .andExpect(jsonPath("$[0].username").value("page00"))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void streamStillExportsEverything() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/events").param("stream", "true").with(user(owner)))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+    }
+}
@@ -0,0 +1,89 @@
+package com.calendar.controller;
+
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.monitoring.MaxStatements;
+import com.calendar.repository.EventRepository;
+import com.calendar.repository.UserRepository;
+import com.calendar.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The event list endpoints read owners and participants in a fixed number of statements,
+ * however many events the calendar holds.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventListStatementCountTest {
+
+    private static final int EVENTS = 60;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UserPrincipal alice;
+
+    @BeforeAll
+    void seedCalendar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.save(new User("count-alice", "count-alice@example.com", "x", "Alice", "Count"));
+            User bob = userRepository.save(new User("count-bob", "count-bob@example.com", "x", "Bob", "Count"));
+            User carol = userRepository.save(new User("count-carol", "count-carol@example.com", "x", "Carol", "Count"));
+            for (int i = 0; i < EVENTS; i++) {
+                LocalDateTime start = START.plusHours(i);
+                Event event = new Event("Owned " + i, null, start, start.plusMinutes(30), owner);
+                event.addParticipant(bob);
+                event.addParticipant(carol);
+                eventRepository.save(event);
+
+                Event invited = new Event("Invited " + i, null, start.plusMinutes(30), start.plusHours(1), bob);
+                invited.addParticipant(owner);
+                eventRepository.save(invited);
+            }
+            alice = UserPrincipal.create(owner);
+        });
+    }
+
+    @Test
+    @MaxStatements(4)
+    void pagedListDoesNotLoadEventsOneByOne() throws Exception {
+        mockMvc.perform(get("/api/events").param("limit", "50").with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(50));
+    }
+
+    @Test
+    @MaxStatements(4)
+    void rangeDoesNotLoadEventsOneByOne() throws Exception {
+        mockMvc.perform(get("/api/events/range").with(user(alice))
+                        .param("startDate", START.toString())
+                        .param("endDate", START.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2 * EVENTS));
+    }
+}
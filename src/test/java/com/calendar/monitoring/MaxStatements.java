@@ -0,0 +1,20 @@
+package com.calendar.monitoring;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a Spring test method that runs more SQL statements than value(). Only the test method
+ * body is counted, not @BeforeEach setup, and only statements on the test thread (see
+ * StatementCounter). MockMvc requests run on that thread, so they are included.
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(MaxStatementsExtension.class)
+public @interface MaxStatements {
+    int value();
+}
@@ -0,0 +1,50 @@
+package com.calendar.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens a StatementCounter scope around each test method annotated with {@link MaxStatements}
+ * and checks its count afterwards. The scope nests around the one StatementBudgetFilter opens
+ * per request, so both see the same statements.
+ */
+public class MaxStatementsExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(MaxStatementsExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        StatementCounter counter = statementCounter(context);
+        context.getStore(NAMESPACE).put(context.getUniqueId(), counter.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementCounter.Scope scope = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), StatementCounter.Scope.class);
+        statementCounter(context).close();
+        int max = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatements.class)
+                .orElseThrow()
+                .value();
+        StringBuilder shapes = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : scope.repeatedShapes(2)) {
+            shapes.append(System.lineSeparator()).append("  ").append(entry.getValue()).append("x ")
+                    .append(entry.getKey());
+        }
+        assertThat(scope.getCount())
+                .as("SQL statements run by %s%s", context.getDisplayName(), shapes)
+                .isLessThanOrEqualTo(max);
+    }
+
+    private static StatementCounter statementCounter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(StatementCounter.class);
+    }
+}
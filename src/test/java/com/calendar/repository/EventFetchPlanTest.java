@@ -0,0 +1,101 @@
+package com.calendar.repository;
+
+import com.calendar.model.Event;
+import com.calendar.model.User;
+import com.calendar.monitoring.MaxStatements;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The entity list queries fetch owners and participants with their entity graph, so mapping
+ * the result does not load them one event at a time.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:event-fetch-plan")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventFetchPlanTest {
+
+    private static final int EVENTS = 30;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User alice;
+
+    @BeforeAll
+    void seedCalendar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            alice = userRepository.save(new User("fetch-alice", "fetch-alice@example.com", "x"));
+            for (int i = 0; i < EVENTS; i++) {
+                // A different owner and participant per event, so no entity is found in the session
+                User owner = userRepository.save(new User("fetch-owner" + i, "fetch-owner" + i + "@example.com", "x"));
+                User guest = userRepository.save(new User("fetch-guest" + i, "fetch-guest" + i + "@example.com", "x"));
+                LocalDateTime start = START.plusHours(i);
+                Event event = new Event("Event " + i, null, start, start.plusMinutes(30), owner);
+                event.setEventType(i % 2 == 0 ? Event.EventType.MEETING : Event.EventType.APPOINTMENT);
+                event.addParticipant(alice);
+                event.addParticipant(guest);
+                eventRepository.save(event);
+            }
+        });
+    }
+
+    // Owners and participant collections would otherwise be answered by the second-level cache
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @MaxStatements(1)
+    void involvedEventsComeWithOwnersAndParticipants() {
+        assertThat(read(() -> eventRepository.findEventsByUserInvolvedOrderByStartTime(alice))).isEqualTo(EVENTS);
+    }
+
+    @Test
+    @MaxStatements(1)
+    void rangeComesWithOwnersAndParticipants() {
+        assertThat(read(() -> eventRepository.findEventsByUserAndDateRange(alice, START, START.plusDays(2))))
+                .isEqualTo(EVENTS);
+    }
+
+    @Test
+    @MaxStatements(1)
+    void typeVariantComesWithOwnersAndParticipants() {
+        assertThat(read(() -> eventRepository.findEventsByUserAndEventType(alice, Event.EventType.MEETING)))
+                .isEqualTo(EVENTS / 2);
+    }
+
+    // Touches every owner and participant inside one transaction; returns the number of events
+    private int read(Supplier<List<Event>> query) {
+        return transactionTemplate.execute(status -> {
+            List<Event> events = query.get();
+            for (Event event : events) {
+                event.getOwner().getUsername();
+                event.getParticipants().forEach(User::getUsername);
+            }
+            return events.size();
+        });
+    }
+}
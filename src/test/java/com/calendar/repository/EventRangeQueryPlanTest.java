@@ -0,0 +1,104 @@
+package com.calendar.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the SQL Hibernate generates for the /api/events/range query through H2's EXPLAIN and
+ * fails if either branch stops using its index and falls back to a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.calendar.repository.EventRangeQueryPlanTest$CapturingInspector")
+class EventRangeQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 1, 8, 0, 0);
+
+    // Column compared with each parameter, to bind a value of the right type
+    private static final Pattern PARAMETER = Pattern.compile("(\\w+)\\s*[<>=]\\s*\\?");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void captureStatements() {
+        CapturingInspector.statements.clear();
+    }
+
+    @Test
+    void ownedEventsAreReadThroughOwnerTimeIndex() throws SQLException {
+        eventRepository.findOwnedEventDtosInRange(1L, FROM, TO);
+
+        String plan = explain(capturedQuery());
+
+        assertThat(plan).contains("IDX_EVENTS_OWNER_TIME").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void participatingEventsAreReadThroughParticipantIndex() throws SQLException {
+        eventRepository.findParticipatingEventDtosInRange(1L, FROM, TO);
+
+        String plan = explain(capturedQuery());
+
+        assertThat(plan).contains("IDX_EVENT_PARTICIPANTS_USER").doesNotContainIgnoringCase("tableScan");
+    }
+
+    private static String capturedQuery() {
+        assertThat(CapturingInspector.statements).hasSize(1);
+        return CapturingInspector.statements.get(0);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            Matcher matcher = PARAMETER.matcher(sql);
+            int index = 0;
+            while (matcher.find()) {
+                if (matcher.group(1).equals("start_time")) {
+                    statement.setObject(++index, TO);
+                } else if (matcher.group(1).equals("end_time")) {
+                    statement.setObject(++index, FROM);
+                } else {
+                    statement.setLong(++index, 1L);
+                }
+            }
+            assertThat(index).isEqualTo(statement.getParameterMetaData().getParameterCount());
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.calendar.security;
+
+import com.calendar.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private MeterRegistry meterRegistry;
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "DGZ4MEV/AVd/R29pX8LtZQGnYWrOg57ela7Ck6jPxqvMKoFTVzvy7lDjiKDMWWcDb0X07U9A/OGWBdXZSr+lUg==");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(jwtUtils, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", meterRegistry);
+        jwtUtils.init();
+    }
+
+    @Test
+    void repeatedChecksAreAnsweredFromTheCache() {
+        String token = token("jwt-alice");
+
+        assertThat(jwtUtils.getUserNameFromJwtToken(token)).isEqualTo("jwt-alice");
+        assertThat(jwtUtils.getUserNameFromJwtToken(token)).isEqualTo("jwt-alice");
+
+        assertThat(count("verified")).isEqualTo(1);
+        assertThat(count("cached")).isEqualTo(1);
+    }
+
+    @Test
+    void cachedTokensExpireWithTheirExpClaim() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 1000);
+        String token = token("jwt-bob");
+        assertThat(jwtUtils.validateJwtToken(token)).isTrue();
+
+        // exp has second precision, so wait past the next full second
+        Thread.sleep(2000);
+
+        assertThat(jwtUtils.validateJwtToken(token)).isFalse();
+        assertThat(count("cached")).isZero();
+        assertThat(count("rejected")).isEqualTo(1);
+    }
+
+    private String token(String username) {
+        UserPrincipal principal = UserPrincipal.create(new User(username, username + "@example.com", "x"));
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.get("calendar.jwt.validation").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.calendar.security;
+
+import com.calendar.model.User;
+import com.calendar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The JWT is only taken from the access_token query parameter on the notification stream.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-token",
+        "jwt.secret=DGZ4MEV/AVd/R29pX8LtZQGnYWrOg57ela7Ck6jPxqvMKoFTVzvy7lDjiKDMWWcDb0X07U9A/OGWBdXZSr+lUg=="
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @BeforeAll
+    void signIn() {
+        User user = userRepository.save(new User("query-token", "query-token@example.com", "x"));
+        UserPrincipal principal = UserPrincipal.create(user);
+        token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void notificationStreamAcceptsQueryToken() throws Exception {
+        mockMvc.perform(get("/api/events/notifications").param("access_token", token)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void otherEndpointsIgnoreQueryToken() throws Exception {
+        mockMvc.perform(get("/api/events").param("access_token", token)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,70 @@
+package com.calendar.security;
+
+import com.calendar.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    private UserPrincipalCache cache;
+    private final List<String> loads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.init();
+    }
+
+    @Test
+    void principalsAreLoadedOnce() {
+        cache.get("alice", loader(1L));
+        cache.get("alice", loader(1L));
+
+        assertThat(loads).containsExactly("alice");
+    }
+
+    @Test
+    void updatedUserIsReloaded() {
+        cache.get("alice", loader(1L));
+        cache.get("bob", loader(2L));
+
+        cache.onUserChanged(user(1L, "alice"));
+        cache.get("alice", loader(1L));
+        cache.get("bob", loader(2L));
+
+        assertThat(loads).containsExactly("alice", "bob", "alice");
+    }
+
+    @Test
+    void renamedUserLosesTheEntryUnderTheOldName() {
+        cache.get("alice", loader(1L));
+
+        cache.onUserChanged(user(1L, "alice-renamed"));
+        cache.get("alice", loader(1L));
+
+        assertThat(loads).containsExactly("alice", "alice");
+    }
+
+    private Function<String, UserPrincipal> loader(Long id) {
+        return username -> {
+            loads.add(username);
+            return UserPrincipal.create(user(id, username));
+        };
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, username + "@example.com", "x");
+        user.setId(id);
+        return user;
+    }
+}
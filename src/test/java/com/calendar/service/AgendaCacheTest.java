@@ -0,0 +1,136 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import com.calendar.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AgendaCacheTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = JANUARY.plusMonths(1);
+    private static final LocalDateTime MARCH = JANUARY.plusMonths(2);
+    private static final LocalDateTime APRIL = JANUARY.plusMonths(3);
+
+    private EventRepository eventRepository;
+    private AgendaCache agendaCache;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.attachParticipants(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.findEventDtosByUserAndDateRange(any(), any(), any())).thenReturn(List.of());
+        when(eventRepository.findEventDtosByUserInvolvedOrderByStartTime(any())).thenReturn(List.of());
+
+        agendaCache = new AgendaCache();
+        ReflectionTestUtils.setField(agendaCache, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(agendaCache, "enabled", true);
+        ReflectionTestUtils.setField(agendaCache, "maxWeight", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(agendaCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(agendaCache, "maxMonths", 3);
+        agendaCache.init();
+    }
+
+    @Test
+    void changeDropsOnlyTheMonthsTheEventTouchedBeforeAndAfter() {
+        agendaCache.loadAndFindInRange(ALICE, JANUARY, APRIL);
+        agendaCache.loadAll(ALICE);
+
+        // Moved from January to February; March did not hold the event and stays cached
+        agendaCache.onEventChange(change(event(JANUARY.plusDays(9), false), event(FEBRUARY.plusDays(4), false),
+                Set.of(ALICE)));
+
+        assertThat(agendaCache.findInRange(ALICE, JANUARY, FEBRUARY)).isNull();
+        assertThat(agendaCache.findInRange(ALICE, FEBRUARY, MARCH)).isNull();
+        assertThat(agendaCache.findInRange(ALICE, MARCH, APRIL)).isNotNull();
+        assertThat(agendaCache.findAll(ALICE)).isNull();
+    }
+
+    @Test
+    void recurringSeriesDropTheMonthsFromTheirStartOn() {
+        agendaCache.loadAndFindInRange(ALICE, JANUARY, APRIL);
+
+        agendaCache.onEventChange(change(null, event(FEBRUARY.plusDays(4), true), Set.of(ALICE)));
+
+        assertThat(agendaCache.findInRange(ALICE, JANUARY, FEBRUARY)).isNotNull();
+        assertThat(agendaCache.findInRange(ALICE, FEBRUARY, MARCH)).isNull();
+        assertThat(agendaCache.findInRange(ALICE, MARCH, APRIL)).isNull();
+    }
+
+    @Test
+    void usersNotInvolvedKeepTheirAgenda() {
+        agendaCache.loadAndFindInRange(ALICE, JANUARY, FEBRUARY);
+        agendaCache.loadAndFindInRange(BOB, JANUARY, FEBRUARY);
+
+        agendaCache.onEventChange(change(null, event(JANUARY.plusDays(9), false), Set.of(ALICE)));
+
+        assertThat(agendaCache.findInRange(ALICE, JANUARY, FEBRUARY)).isNull();
+        assertThat(agendaCache.findInRange(BOB, JANUARY, FEBRUARY)).isNotNull();
+    }
+
+    @Test
+    void callersGetCopiesOfCachedEvents() {
+        EventDto cached = event(JANUARY.plusDays(9), false);
+        when(eventRepository.findEventDtosByUserAndDateRange(eq(ALICE), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(cached)));
+
+        agendaCache.loadAndFindInRange(ALICE, JANUARY, FEBRUARY).get(0).setTitle("Changed by a caller");
+
+        assertThat(agendaCache.findInRange(ALICE, JANUARY, FEBRUARY))
+                .extracting(EventDto::getTitle).containsExactly("Review");
+    }
+
+    @Test
+    void loadRacingWithAChangeIsNotInstalled() {
+        // The change commits while the months are being read
+        when(eventRepository.findEventDtosByUserAndDateRange(eq(ALICE), any(), any())).thenAnswer(invocation -> {
+            agendaCache.onEventChange(change(null, event(JANUARY.plusDays(9), false), Set.of(ALICE)));
+            return new ArrayList<>();
+        });
+
+        assertThat(agendaCache.loadAndFindInRange(ALICE, JANUARY, FEBRUARY)).isEmpty();
+
+        assertThat(agendaCache.findInRange(ALICE, JANUARY, FEBRUARY)).isNull();
+        agendaCache.loadAndFindInRange(ALICE, JANUARY, FEBRUARY);
+        verify(eventRepository, times(2)).findEventDtosByUserAndDateRange(eq(ALICE), any(), any());
+    }
+
+    private static EventChange change(EventDto before, EventDto after, Set<Long> userIds) {
+        EventChange.Span previousSpan = before != null
+                ? new EventChange.Span(before.getStartTime(), before.getEndTime(), before.isRecurring())
+                : null;
+        EventChange.Type type = before == null ? EventChange.Type.CREATED : EventChange.Type.UPDATED;
+        return new EventChange(type, 10L, after, previousSpan, before != null ? userIds : Set.of(), userIds);
+    }
+
+    private static EventDto event(LocalDateTime start, boolean recurring) {
+        EventDto event = new EventDto();
+        event.setId(10L);
+        event.setTitle("Review");
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        event.setRecurring(recurring);
+        event.setRecurrencePattern(recurring ? "FREQ=WEEKLY" : null);
+        event.setOwnerId(ALICE);
+        return event;
+    }
+}
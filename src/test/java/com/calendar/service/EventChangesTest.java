@@ -0,0 +1,103 @@
+package com.calendar.service;
+
+import com.calendar.dto.CursorPage;
+import com.calendar.dto.EventChangesResponse;
+import com.calendar.dto.EventDto;
+import com.calendar.model.EventTombstone;
+import com.calendar.model.User;
+import com.calendar.repository.EventTombstoneRepository;
+import com.calendar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:event-changes",
+        "calendar.sync.token-ttl=30d"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventChangesTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 6, 10, 0);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventChangeLog eventChangeLog;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+
+    private Long alice;
+
+    @BeforeAll
+    void createUser() {
+        alice = userRepository.save(new User("sync-alice", "sync-alice@example.com", "x")).getId();
+    }
+
+    @Test
+    void freshTokenGetsOnlyTheDelta() {
+        eventService.createEvent(event("Before the token"), alice, ConflictCheck.NONE);
+        EventChangesResponse first = eventService.getChangesForUser(alice, null);
+        assertThat(first.isFullSync()).isTrue();
+
+        EventDto created = eventService.createEvent(event("After the token"), alice, ConflictCheck.NONE);
+        EventChangesResponse delta = eventService.getChangesForUser(alice, first.getToken());
+
+        assertThat(delta.isFullSync()).isFalse();
+        assertThat(delta.getEvents()).extracting(EventDto::getId).containsExactly(created.getId());
+    }
+
+    @Test
+    void expiredTokenGetsAFullSync() {
+        eventService.createEvent(event("Long ago"), alice, ConflictCheck.NONE);
+        String expired = CursorPage.encodeCursor(String.valueOf(eventChangeLog.watermark()),
+                String.valueOf(Instant.now().minus(Duration.ofDays(31)).toEpochMilli()));
+
+        EventChangesResponse changes = eventService.getChangesForUser(alice, expired);
+
+        assertThat(changes.isFullSync()).isTrue();
+        assertThat(changes.getEvents()).extracting(EventDto::getTitle).contains("Long ago");
+    }
+
+    @Test
+    void pruningKeepsRecentTombstonesAndTheNewestOne() {
+        LocalDateTime old = LocalDateTime.now().minusDays(40);
+        Long oldest = tombstone(1_000_000L, old);
+        Long recent = tombstone(1_000_001L, LocalDateTime.now());
+        Long newest = tombstone(1_000_002L, old);
+
+        assertThat(eventChangeLog.pruneTombstones()).isEqualTo(1);
+
+        assertThat(eventTombstoneRepository.findAllById(List.of(oldest, recent, newest)))
+                .extracting(EventTombstone::getId).containsExactlyInAnyOrder(recent, newest);
+    }
+
+    // @PrePersist stamps the removal time, so an older one is set with a second save
+    private Long tombstone(Long changeSeq, LocalDateTime removedAt) {
+        EventTombstone tombstone = eventTombstoneRepository.save(new EventTombstone(changeSeq, alice, changeSeq));
+        tombstone.setRemovedAt(removedAt);
+        return eventTombstoneRepository.save(tombstone).getId();
+    }
+
+    private static EventDto event(String title) {
+        EventDto event = new EventDto();
+        event.setTitle(title);
+        event.setStartTime(START);
+        event.setEndTime(START.plusHours(1));
+        return event;
+    }
+}
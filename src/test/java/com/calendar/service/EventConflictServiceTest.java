@@ -0,0 +1,78 @@
+package com.calendar.service;
+
+import com.calendar.dto.ConflictRow;
+import com.calendar.dto.EventConflict;
+import com.calendar.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventConflictServiceTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+    private EventRepository eventRepository;
+    private EventConflictService eventConflictService;
+
+    @BeforeEach
+    void setUp() {
+        RecurrenceService recurrenceService = new RecurrenceService();
+        ReflectionTestUtils.setField(recurrenceService, "cacheSize", 16);
+        ReflectionTestUtils.setField(recurrenceService, "maxOccurrences", 1000);
+
+        eventRepository = mock(EventRepository.class);
+        eventConflictService = new EventConflictService();
+        ReflectionTestUtils.setField(eventConflictService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(eventConflictService, "recurrenceService", recurrenceService);
+        ReflectionTestUtils.setField(eventConflictService, "horizon", Duration.ofDays(366));
+    }
+
+    @Test
+    void conflictsOnOtherUsersEventsOnlyShowBusyTime() {
+        rows(new ConflictRow(10L, "Bob's interview", START, START.plusHours(1), false, null, BOB, null));
+
+        List<EventConflict> conflicts = findConflictsFor(ALICE);
+
+        assertThat(conflicts).hasSize(1);
+        EventConflict conflict = conflicts.get(0);
+        assertThat(conflict.getUserId()).isEqualTo(BOB);
+        assertThat(conflict.getStartTime()).isEqualTo(START);
+        assertThat(conflict.getEndTime()).isEqualTo(START.plusHours(1));
+        assertThat(conflict.getEventId()).isNull();
+        assertThat(conflict.getTitle()).isNull();
+    }
+
+    @Test
+    void conflictsOnEventsTheWriterTakesPartInKeepTheirDetails() {
+        rows(new ConflictRow(10L, "Team sync", START, START.plusHours(1), false, null, BOB, ALICE),
+                new ConflictRow(11L, "Own review", START, START.plusHours(1), false, null, ALICE, null));
+
+        List<EventConflict> conflicts = findConflictsFor(ALICE);
+
+        assertThat(conflicts).extracting(EventConflict::getTitle)
+                .containsExactlyInAnyOrder("Team sync", "Team sync", "Own review");
+        assertThat(conflicts).extracting(EventConflict::getEventId).doesNotContainNull();
+    }
+
+    private void rows(ConflictRow... rows) {
+        when(eventRepository.findConflictRows(anyCollection(), any(), any(), anyLong())).thenReturn(List.of(rows));
+    }
+
+    private List<EventConflict> findConflictsFor(Long viewerId) {
+        return eventConflictService.findConflicts(viewerId, null, List.of(ALICE, BOB),
+                START, START.plusMinutes(30), false, null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import com.calendar.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventIntervalIndexTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+    private EventRepository eventRepository;
+    private EventIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        RecurrenceService recurrenceService = new RecurrenceService();
+        ReflectionTestUtils.setField(recurrenceService, "cacheSize", 16);
+        ReflectionTestUtils.setField(recurrenceService, "maxOccurrences", 1000);
+
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.attachParticipants(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.findEventDtosByUserInvolvedOrderByStartTime(eq(BOB))).thenReturn(List.of());
+
+        index = new EventIntervalIndex();
+        ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(index, "recurrenceService", recurrenceService);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxUsers", 100);
+        index.init();
+    }
+
+    @Test
+    void changesPatchLoadedTimelines() {
+        when(eventRepository.findEventDtosByUserInvolvedOrderByStartTime(eq(ALICE))).thenReturn(List.of());
+        index.loadAndFindOverlapping(ALICE, START, START.plusDays(1));
+
+        index.onEventChange(created(10L, START.plusHours(1), ALICE));
+
+        assertThat(index.findOverlapping(ALICE, START, START.plusDays(1)))
+                .extracting(EventDto::getId).containsExactly(10L);
+        assertThat(index.findOverlapping(ALICE, START.plusDays(1), START.plusDays(2))).isEmpty();
+    }
+
+    @Test
+    void loadRacingWithAChangeToTheSameUserIsNotInstalled() {
+        when(eventRepository.findEventDtosByUserInvolvedOrderByStartTime(eq(ALICE))).thenAnswer(invocation -> {
+            index.onEventChange(created(10L, START, ALICE));
+            return new ArrayList<>();
+        });
+
+        index.loadAndFindOverlapping(ALICE, START, START.plusDays(1));
+
+        assertThat(index.findOverlapping(ALICE, START, START.plusDays(1))).isNull();
+    }
+
+    @Test
+    void changesToOtherUsersDoNotDiscardALoad() {
+        when(eventRepository.findEventDtosByUserInvolvedOrderByStartTime(eq(ALICE))).thenAnswer(invocation -> {
+            index.onEventChange(created(10L, START, BOB));
+            return new ArrayList<>(List.of(event(11L, START)));
+        });
+
+        index.loadAndFindOverlapping(ALICE, START, START.plusDays(1));
+
+        assertThat(index.findOverlapping(ALICE, START, START.plusDays(1)))
+                .extracting(EventDto::getId).containsExactly(11L);
+    }
+
+    private static EventChange created(Long eventId, LocalDateTime start, Long ownerId) {
+        EventDto event = event(eventId, start);
+        event.setOwnerId(ownerId);
+        return new EventChange(EventChange.Type.CREATED, eventId, event, null, Set.of(), Set.of(ownerId));
+    }
+
+    private static EventDto event(Long id, LocalDateTime start) {
+        EventDto event = new EventDto();
+        event.setId(id);
+        event.setTitle("Event " + id);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        return event;
+    }
+}
@@ -0,0 +1,77 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final Long CAROL = 3L;
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+    }
+
+    @Test
+    void titleMatchesRankAboveLocationAboveDescription() {
+        index(10L, "Lunch", null, "Budget talk", ALICE);
+        index(11L, "Budget review", null, null, ALICE);
+        index(12L, "Standup", "Budget room", null, ALICE);
+
+        assertThat(index.search(ALICE, "budget", 10)).containsExactly(11L, 12L, 10L);
+    }
+
+    @Test
+    void everyWordMustMatchAndLongWordsMatchInsideWords() {
+        index(10L, "Quarterly review", "Room 4", null, ALICE);
+        index(11L, "Quarterly planning", null, null, ALICE);
+
+        assertThat(index.search(ALICE, "view quarterly", 10)).containsExactly(10L);
+        // Short words only match the start of a word
+        assertThat(index.search(ALICE, "pl", 10)).containsExactly(11L);
+        assertThat(index.search(ALICE, "an", 10)).isEmpty();
+    }
+
+    @Test
+    void onlyOwnersAndParticipantsFindAnEvent() {
+        index(10L, "Offsite", null, null, ALICE, BOB);
+
+        assertThat(index.search(ALICE, "offsite", 10)).containsExactly(10L);
+        assertThat(index.search(BOB, "offsite", 10)).containsExactly(10L);
+        assertThat(index.search(CAROL, "offsite", 10)).isEmpty();
+
+        // Bob is removed from the event, then it is deleted
+        index(10L, "Offsite", null, null, ALICE);
+        assertThat(index.search(BOB, "offsite", 10)).isEmpty();
+        index.onEventChange(new EventChange(EventChange.Type.DELETED, 10L, null, null, Set.of(ALICE), Set.of()));
+        assertThat(index.search(ALICE, "offsite", 10)).isEmpty();
+    }
+
+    @Test
+    void resultsAreLimited() {
+        for (long id = 10; id < 20; id++) {
+            index(id, "Sync " + id, null, null, ALICE);
+        }
+
+        assertThat(index.search(ALICE, "sync", 3)).hasSize(3);
+    }
+
+    private void index(Long id, String title, String location, String description, Long... userIds) {
+        EventDto event = new EventDto();
+        event.setId(id);
+        event.setTitle(title);
+        event.setLocation(location);
+        event.setDescription(description);
+        event.setOwnerId(userIds[0]);
+        index.onEventChange(new EventChange(EventChange.Type.UPDATED, id, event, null, Set.of(), Set.of(userIds)));
+    }
+}
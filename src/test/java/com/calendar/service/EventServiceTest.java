@@ -0,0 +1,192 @@
+package com.calendar.service;
+
+import com.calendar.dto.BatchItemResult;
+import com.calendar.dto.EventChangesResponse;
+import com.calendar.dto.EventConflict;
+import com.calendar.dto.EventDto;
+import com.calendar.model.User;
+import com.calendar.repository.EventRepository;
+import com.calendar.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:event-service",
+        "calendar.index.enabled=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 6, 10, 0);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long alice;
+    private Long bob;
+    private Long carol;
+
+    @BeforeAll
+    void createUsers() {
+        alice = userRepository.save(new User("svc-alice", "svc-alice@example.com", "x")).getId();
+        bob = userRepository.save(new User("svc-bob", "svc-bob@example.com", "x")).getId();
+        carol = userRepository.save(new User("svc-carol", "svc-carol@example.com", "x")).getId();
+    }
+
+    // The second-level cache is shared by every test context in the JVM, and their databases hand
+    // out the same ids
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void conflictsReachOnlyTheWriter() {
+        eventService.createEvent(event("Alice's private appointment", START, List.of()), alice, ConflictCheck.NONE);
+        // Bob's timeline is in the index, so the new event reaches him through the change listener
+        eventService.getEventsForUserInDateRange(bob, START.minusHours(1), START.plusHours(2));
+
+        EventDto created = eventService.createEvent(event("Planning", START, List.of(bob)), alice,
+                ConflictCheck.REPORT);
+
+        assertThat(created.getConflicts()).extracting(EventConflict::getTitle)
+                .containsExactly("Alice's private appointment");
+        EventDto seenByBob = eventService.getEventsForUserInDateRange(bob, START.minusHours(1), START.plusHours(2))
+                .stream().filter(e -> e.getId().equals(created.getId())).findFirst().orElseThrow();
+        assertThat(seenByBob.getConflicts()).isNull();
+    }
+
+    @Test
+    void unchangedUpdateWritesNothingAndIsNotReported() {
+        EventDto created = eventService.createEvent(event("Retro", START.plusDays(1), List.of(bob)), alice,
+                ConflictCheck.NONE);
+        String token = eventService.getChangesForUser(alice, null).getToken();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entityUpdates = statistics.getEntityUpdateCount();
+        long collectionUpdates = statistics.getCollectionUpdateCount();
+
+        EventDto updated = eventService.updateEvent(created.getId(), created, alice, ConflictCheck.NONE);
+
+        assertThat(updated.getTitle()).isEqualTo("Retro");
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(entityUpdates);
+        assertThat(statistics.getCollectionUpdateCount()).isEqualTo(collectionUpdates);
+        EventChangesResponse changes = eventService.getChangesForUser(alice, token);
+        assertThat(changes.getEvents()).isEmpty();
+    }
+
+    @Test
+    void participantListIsAppliedAsADifference() {
+        EventDto created = eventService.createEvent(event("Design review", START.plusDays(2), List.of(bob)), alice,
+                ConflictCheck.NONE);
+        String token = eventService.getChangesForUser(bob, null).getToken();
+
+        created.setParticipantIds(List.of(carol));
+        EventDto updated = eventService.updateEvent(created.getId(), created, alice, ConflictCheck.NONE);
+
+        assertThat(updated.getParticipantIds()).containsExactly(carol);
+        EventChangesResponse bobsChanges = eventService.getChangesForUser(bob, token);
+        assertThat(bobsChanges.getDeletedIds()).containsExactly(created.getId());
+        assertThat(eventService.getChangesForUser(carol, null).getEvents())
+                .extracting(EventDto::getId).contains(created.getId());
+    }
+
+    @Test
+    void bulkParticipantChangesReachTheCachedCollection() {
+        Long eventId = eventService.createEvent(event("All hands", START.plusDays(3), List.of(bob)), alice,
+                ConflictCheck.NONE).getId();
+        // Puts the participant collection into the second-level cache
+        assertThat(cachedParticipantIds(eventId)).containsExactly(bob);
+
+        EventDto added = eventService.addParticipantsToEvent(eventId, List.of(bob, carol, -1L), alice);
+
+        assertThat(added.getParticipantIds()).containsExactlyInAnyOrder(bob, carol);
+        assertThat(cachedParticipantIds(eventId)).containsExactlyInAnyOrder(bob, carol);
+
+        EventDto removed = eventService.removeParticipantsFromEvent(eventId, List.of(bob), alice);
+
+        assertThat(removed.getParticipantIds()).containsExactly(carol);
+        assertThat(cachedParticipantIds(eventId)).containsExactly(carol);
+    }
+
+    @Test
+    void participantsCanOnlyRemoveThemselves() {
+        Long eventId = eventService.createEvent(event("Board meeting", START.plusDays(4), List.of(bob, carol)),
+                alice, ConflictCheck.NONE).getId();
+
+        assertThatThrownBy(() -> eventService.removeParticipantsFromEvent(eventId, List.of(carol), bob))
+                .hasMessage("Access denied");
+        assertThat(eventService.removeParticipantsFromEvent(eventId, List.of(bob), bob).getParticipantIds())
+                .containsExactly(carol);
+    }
+
+    @Test
+    void invalidBatchItemsDoNotFailTheRest() {
+        List<BatchItemResult> created = eventService.createEvents(List.of(
+                event("Standup", START.plusDays(5), List.of()),
+                event(null, START.plusDays(5), List.of()),
+                event("Review", START.plusDays(5), List.of(bob))), alice);
+
+        assertThat(created).extracting(BatchItemResult::getIndex, BatchItemResult::isSuccess)
+                .containsExactly(tuple(0, true), tuple(1, false), tuple(2, true));
+        assertThat(created.get(1).getError()).startsWith("title");
+        assertThat(created.get(2).getEvent().getParticipantIds()).containsExactly(bob);
+
+        EventDto renamed = created.get(0).getEvent();
+        renamed.setTitle("Daily standup");
+        EventDto missing = event("Gone", START.plusDays(5), List.of());
+        missing.setId(-1L);
+        List<BatchItemResult> updated = eventService.updateEvents(List.of(renamed, missing), alice);
+
+        assertThat(updated).extracting(BatchItemResult::isSuccess, BatchItemResult::getError)
+                .containsExactly(tuple(true, null), tuple(false, "Event not found"));
+        assertThat(eventService.getEventById(renamed.getId(), alice).getTitle()).isEqualTo("Daily standup");
+
+        Long reviewId = created.get(2).getId();
+        assertThat(eventService.deleteEvents(List.of(renamed.getId(), reviewId), bob))
+                .extracting(BatchItemResult::getError).containsOnly("Only the event owner can delete this event");
+        assertThat(eventService.deleteEvents(List.of(renamed.getId(), renamed.getId()), alice))
+                .extracting(BatchItemResult::isSuccess).containsExactly(true, false);
+        assertThat(eventService.getEventById(reviewId, alice).getTitle()).isEqualTo("Review");
+    }
+
+    private List<Long> cachedParticipantIds(Long eventId) {
+        return transactionTemplate.execute(status -> eventRepository.findById(eventId).orElseThrow()
+                .getParticipants().stream().map(User::getId).toList());
+    }
+
+    private static EventDto event(String title, LocalDateTime start, List<Long> participantIds) {
+        EventDto event = new EventDto();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        event.setParticipantIds(participantIds);
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.calendar.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void monthlySeriesOnThe31stSkipsShorterMonths() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=4");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+        assertThat(take(rule.occurrences(start), 10)).containsExactly(
+                LocalDateTime.of(2024, 1, 31, 9, 0),
+                LocalDateTime.of(2024, 3, 31, 9, 0),
+                LocalDateTime.of(2024, 5, 31, 9, 0),
+                LocalDateTime.of(2024, 7, 31, 9, 0));
+        assertThat(rule.lastStartBound(start)).isEqualTo(LocalDateTime.of(2024, 7, 31, 9, 0));
+    }
+
+    @Test
+    void yearlySeriesOnLeapDayOnlyRecursInLeapYears() {
+        RecurrenceRule rule = RecurrenceRule.parse("Yearly");
+        LocalDateTime start = LocalDateTime.of(2024, 2, 29, 12, 0);
+
+        assertThat(take(rule.occurrences(start), 3)).containsExactly(
+                LocalDateTime.of(2024, 2, 29, 12, 0),
+                LocalDateTime.of(2028, 2, 29, 12, 0),
+                LocalDateTime.of(2032, 2, 29, 12, 0));
+    }
+
+    @Test
+    void skippedMonthsDoNotUseUpCountWhenSkippingAhead() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=4");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+        assertThat(take(rule.occurrencesEndingAfter(start, Duration.ofHours(1), LocalDateTime.of(2024, 6, 1, 0, 0)), 10))
+                .containsExactly(LocalDateTime.of(2024, 7, 31, 9, 0));
+    }
+
+    @Test
+    void countBoundIsComputedWithoutWalking() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;COUNT=" + RecurrenceRule.MAX_COUNT);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+        assertThat(rule.lastStartBound(start)).isEqualTo(start.plusDays(2L * (RecurrenceRule.MAX_COUNT - 1)));
+    }
+
+    @Test
+    void weeklyByDayCountBoundIsExact() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=5");
+        // A Wednesday, so the first week only has Wednesday and Friday
+        LocalDateTime start = LocalDateTime.of(2024, 1, 3, 10, 0);
+
+        assertThat(rule.lastStartBound(start)).isEqualTo(LocalDateTime.of(2024, 1, 12, 10, 0));
+    }
+
+    @Test
+    void countAboveTheLimitIsRejected() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2000000000"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("COUNT");
+    }
+
+    private static List<LocalDateTime> take(Iterator<LocalDateTime> it, int max) {
+        List<LocalDateTime> result = new ArrayList<>();
+        while (it.hasNext() && result.size() < max) {
+            result.add(it.next());
+        }
+        return result;
+    }
+}
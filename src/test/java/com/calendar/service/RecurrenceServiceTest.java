@@ -0,0 +1,65 @@
+package com.calendar.service;
+
+import com.calendar.dto.EventDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceServiceTest {
+
+    private static final LocalDateTime JAN_START = LocalDateTime.of(2024, 1, 8, 10, 0);
+
+    private RecurrenceService recurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        recurrenceService = new RecurrenceService();
+        ReflectionTestUtils.setField(recurrenceService, "cacheSize", 16);
+        ReflectionTestUtils.setField(recurrenceService, "maxOccurrences", 1000);
+    }
+
+    @Test
+    void unparseablePatternIsKeptOnlyInsideTheWindow() {
+        EventDto event = recurringEvent("Every other week");
+
+        assertThat(recurrenceService.expandInRange(List.of(event),
+                LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0))).isEmpty();
+        assertThat(recurrenceService.expandInRange(List.of(event),
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0))).containsExactly(event);
+    }
+
+    @Test
+    void emptyPatternIsKeptOnlyInsideTheWindow() {
+        EventDto event = recurringEvent("");
+
+        assertThat(recurrenceService.expandInRange(List.of(event),
+                LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0))).isEmpty();
+    }
+
+    @Test
+    void weeklySeriesIsExpandedIntoTheWindow() {
+        EventDto event = recurringEvent("FREQ=WEEKLY");
+
+        List<EventDto> occurrences = recurrenceService.expandInRange(List.of(event),
+                LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2024, 12, 15, 0, 0));
+
+        assertThat(occurrences).extracting(EventDto::getStartTime).containsExactly(
+                LocalDateTime.of(2024, 12, 2, 10, 0), LocalDateTime.of(2024, 12, 9, 10, 0));
+    }
+
+    private static EventDto recurringEvent(String pattern) {
+        EventDto event = new EventDto();
+        event.setId(1L);
+        event.setTitle("Standup");
+        event.setStartTime(JAN_START);
+        event.setEndTime(JAN_START.plusMinutes(30));
+        event.setRecurring(true);
+        event.setRecurrencePattern(pattern);
+        return event;
+    }
+}
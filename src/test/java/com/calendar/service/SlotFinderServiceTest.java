@@ -0,0 +1,126 @@
+package com.calendar.service;
+
+import com.calendar.dto.SlotSuggestionRequest;
+import com.calendar.dto.TimeRange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotFinderServiceTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final Long CAROL = 3L;
+    // A Monday
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    private FreeBusyService freeBusyService;
+    private SlotFinderService slotFinderService;
+
+    @BeforeEach
+    void setUp() {
+        freeBusyService = mock(FreeBusyService.class);
+        slotFinderService = new SlotFinderService();
+        ReflectionTestUtils.setField(slotFinderService, "freeBusyService", freeBusyService);
+        ReflectionTestUtils.setField(slotFinderService, "maxResults", 50);
+        ReflectionTestUtils.setField(slotFinderService, "parallelThreshold", 16);
+    }
+
+    @Test
+    void mergeCoalescesOverlappingAndTouchingIntervals() {
+        long[][] lists = {
+                {0, 10, 20, 30},
+                {5, 25},
+                {},
+                {30, 40, 50, 60},
+                {45, 46}
+        };
+
+        assertThat(SlotFinderService.mergeAll(lists, 0, lists.length)).containsExactly(0, 40, 45, 46, 50, 60);
+        assertThat(SlotFinderService.mergeAll(lists, 2, 3)).isEmpty();
+    }
+
+    @Test
+    void parallelUnionMatchesSequentialMerge() {
+        busy(Map.of(ALICE, new long[]{0, 10, 100, 110}, BOB, new long[]{5, 15}, CAROL, new long[]{105, 120}));
+        List<TimeRange> sequential = slotFinderService.suggestSlots(request(30, 30, 20), ALICE);
+
+        ReflectionTestUtils.setField(slotFinderService, "parallelThreshold", 1);
+
+        assertThat(slotFinderService.suggestSlots(request(30, 30, 20), ALICE))
+                .usingRecursiveFieldByFieldElementComparator().isEqualTo(sequential);
+    }
+
+    @Test
+    void busyTimeAcrossMidnightCarriesIntoTheNextWorkingDay() {
+        Map<Long, long[]> busy = new LinkedHashMap<>();
+        // Alice is busy Monday 09:00-12:00 and from Monday 13:00 until Tuesday 10:30
+        busy.put(ALICE, new long[]{at(0, 9, 0), at(0, 12, 0), at(0, 13, 0), at(1, 10, 30)});
+        // Bob's Monday 11:00-13:30 closes Alice's lunch gap
+        busy.put(BOB, new long[]{at(0, 11, 0), at(0, 13, 30)});
+        // Carol leaves only 30 minutes free after Alice's overnight block
+        busy.put(CAROL, new long[]{at(1, 11, 0), at(1, 12, 0)});
+        busy(busy);
+
+        List<TimeRange> slots = slotFinderService.suggestSlots(request(60, 30, 3), ALICE);
+
+        assertThat(slots).extracting(TimeRange::getStart).containsExactly(
+                WINDOW_START.plusDays(1).withHour(12),
+                WINDOW_START.plusDays(1).withHour(12).withMinute(30),
+                WINDOW_START.plusDays(1).withHour(13));
+        assertThat(slots).allSatisfy(slot ->
+                assertThat(Duration.between(slot.getStart(), slot.getEnd())).isEqualTo(Duration.ofHours(1)));
+    }
+
+    @Test
+    void explicitNullStepFailsValidation() throws Exception {
+        SlotSuggestionRequest request = new ObjectMapper().registerModule(new JavaTimeModule()).readValue("""
+                {"participantIds": [2], "durationMinutes": 30, "windowStart": "2024-03-04T00:00:00",
+                 "windowEnd": "2024-03-06T00:00:00", "stepMinutes": null, "maxResults": null}
+                """, SlotSuggestionRequest.class);
+
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        Set<ConstraintViolation<SlotSuggestionRequest>> violations = validator.validate(request);
+
+        assertThat(violations).extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactlyInAnyOrder("stepMinutes", "maxResults");
+    }
+
+    private void busy(Map<Long, long[]> busy) {
+        when(freeBusyService.getBusyIntervals(anyCollection(), any(), any())).thenReturn(busy);
+    }
+
+    private static SlotSuggestionRequest request(int durationMinutes, int stepMinutes, int maxResults) {
+        SlotSuggestionRequest request = new SlotSuggestionRequest();
+        request.setParticipantIds(List.of(BOB, CAROL));
+        request.setDurationMinutes(durationMinutes);
+        request.setWindowStart(WINDOW_START);
+        request.setWindowEnd(WINDOW_START.plusDays(2));
+        request.setStepMinutes(stepMinutes);
+        request.setMaxResults(maxResults);
+        return request;
+    }
+
+    // Seconds from the window start to the given day and time
+    private static long at(int day, int hour, int minute) {
+        return Duration.between(WINDOW_START, WINDOW_START.plusDays(day).withHour(hour).withMinute(minute)).getSeconds();
+    }
+}
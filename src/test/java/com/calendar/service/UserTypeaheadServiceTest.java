@@ -0,0 +1,54 @@
+package com.calendar.service;
+
+import com.calendar.dto.UserDto;
+import com.calendar.model.User;
+import com.calendar.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:typeahead")
+class UserTypeaheadServiceTest {
+
+    @Autowired
+    private UserTypeaheadService userTypeaheadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void committedSignupIsIndexed() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.save(new User("ta-committed", "ta-committed@example.com", "x", "Ada", "Lovelace")));
+
+        assertThat(userTypeaheadService.search("ada lov", 10))
+                .extracting(UserDto::getUsername).containsExactly("ta-committed");
+    }
+
+    @Test
+    void rolledBackSignupIsNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(new User("ta-rolledback", "ta-rolledback@example.com", "x"));
+            assertThat(userTypeaheadService.search("ta-rolledback", 10)).isEmpty();
+            status.setRollbackOnly();
+        });
+
+        assertThat(userTypeaheadService.search("ta-rolledback", 10)).isEmpty();
+    }
+
+    @Test
+    void missingNamePartsAreNotIndexedAsNull() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.save(new User("ta-noname", "ta-noname@example.com", "x", null, "Hopper")));
+
+        assertThat(userTypeaheadService.search("null", 10)).isEmpty();
+        assertThat(userTypeaheadService.search("hopper", 10))
+                .extracting(UserDto::getUsername).containsExactly("ta-noname");
+    }
+}